@@ -0,0 +1,89 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints the score and allocation per operation of two JMH JSON results side by side, e.g. the
+ * results of two commits. A change within the error of both runs is shown as ~.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <result.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> result = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n", "Benchmark", "Baseline", "Result",
+                "Change", "B/op before", "B/op after", "Change");
+        result.forEach((name, current) -> {
+            JsonNode previous = baseline.get(name);
+            JsonNode score = current.path("primaryMetric");
+            JsonNode allocation = current.path("secondaryMetrics").path(ALLOCATION);
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %12s %12s %8s%n", name, "-",
+                        score.path("score").asDouble(), "new", "-", bytes(allocation), "");
+                return;
+            }
+            JsonNode previousScore = previous.path("primaryMetric");
+            JsonNode previousAllocation = previous.path("secondaryMetrics").path(ALLOCATION);
+            System.out.printf("%-70s %14.3f %14.3f %8s %12s %12s %8s%n", name,
+                    previousScore.path("score").asDouble(), score.path("score").asDouble(),
+                    change(previousScore, score), bytes(previousAllocation), bytes(allocation),
+                    change(previousAllocation, allocation));
+        });
+        baseline.keySet().stream()
+                .filter(name -> !result.containsKey(name))
+                .forEach(name -> System.out.printf("%-70s %14s%n", name, "removed"));
+    }
+
+    // benchmark name and params -> entry of the result
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> entries = new LinkedHashMap<>();
+        for (JsonNode entry : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(entry.path("benchmark").asText()
+                    .replace("com.josegomez.spring_mongo_api.benchmark.", ""));
+            for (Map.Entry<String, JsonNode> param : entry.path("params").properties()) {
+                name.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            entries.put(name.toString(), entry);
+        }
+        return entries;
+    }
+
+    private static String change(JsonNode before, JsonNode after) {
+        if (before.isMissingNode() || after.isMissingNode() || before.path("score").asDouble() == 0) {
+            return "";
+        }
+        double previous = before.path("score").asDouble();
+        double current = after.path("score").asDouble();
+        double error = error(before) + error(after);
+        if (Math.abs(current - previous) <= error) {
+            return "~";
+        }
+        return String.format("%+.1f%%", (current - previous) * 100 / previous);
+    }
+
+    // NaN when the run had a single iteration
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String bytes(JsonNode allocation) {
+        return allocation.isMissingNode() ? "-" : String.format("%.1f", allocation.path("score").asDouble());
+    }
+}
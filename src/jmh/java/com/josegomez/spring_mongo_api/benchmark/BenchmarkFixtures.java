@@ -0,0 +1,104 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.search.SearchNormalizer;
+import com.josegomez.spring_mongo_api.security.JwtProperties;
+
+/**
+ * Objects shared by the benchmarks, built the same way Spring would build them.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] FIRST_NAMES = { "Juan", "José", "María", "Ana", "Luis",
+            "Carlos", "Sofía", "Lucía", "Martín", "Gabriel", "Isabel", "Jorge", "Valeria",
+            "Andrés", "Camila", "Raúl", "Elena", "Mario", "Rosario", "Julio" };
+    private static final String[] LAST_NAMES = { "García", "Rodríguez", "Martínez", "López",
+            "González", "Pérez", "Sánchez", "Ramírez", "Torres", "Flores", "Rivera", "Gómez",
+            "Díaz", "Cruz", "Morales", "Ortiz", "Gutiérrez", "Chávez", "Ramos", "Castillo",
+            "Márquez", "Vargas", "Mendoza", "Herrera", "Medina", "Aguilar", "Vázquez", "Reyes",
+            "Jiménez", "Muñoz" };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Inserts synthetic users with ids 1 to count and role 1, unless the collection already
+     * holds that many. The same seed gives the same names, so runs are comparable.
+     */
+    static void seedUsers(MongoTemplate mongoTemplate, int count) {
+        if (mongoTemplate.estimatedCount(User.class) >= count) {
+            return;
+        }
+        mongoTemplate.dropCollection(User.class);
+        Random random = new Random(42);
+        List<User> batch = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            User user = new User(id, pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                    pick(random, LAST_NAMES), List.of(1L),
+                    "user" + id, "hash", true, "user" + id + "@mail.com");
+            // no application context here, the listener would do this on save
+            user.setSearch(SearchNormalizer.fields(user.searchableNames()));
+            batch.add(user);
+            if (batch.size() == 10_000) {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                        .insert(batch).execute();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(batch).execute();
+        }
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        jwtProperties.setExpiration(300000);
+        jwtProperties.setActivateExpiration(300000);
+        jwtProperties.setIssuer("SPRING-MONGO-API");
+        return jwtProperties;
+    }
+
+    static List<Role> roles() {
+        return List.of(new Role(1L, "ROLE_ADMIN", "Administrator"), new Role(2L, "ROLE_USER", "User"));
+    }
+
+    static User user() {
+        return new User(1L, "José", "Gómez", "Arquero", List.of(1L, 2L), "jgomez",
+                "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1Z9ZMzZ7LrA4XbY0Dk1Z7xK", true,
+                "jgomez@example.com");
+    }
+
+    static UserRequestDTO userRequest() {
+        return UserRequestDTO.builder()
+                .firstName("José")
+                .lastNamePaternal("Gómez")
+                .lastNameMaternal("Arquero")
+                .roleKeys(List.of("ROLE_ADMIN", "ROLE_USER"))
+                .build();
+    }
+
+    // fails every constraint of the DTO
+    static UserRequestDTO invalidUserRequest() {
+        return UserRequestDTO.builder()
+                .firstName("J0sé")
+                .lastNamePaternal("")
+                .lastNameMaternal("x".repeat(51))
+                .roleKeys(List.of("ROLE_USER", "ROLE_USER"))
+                .build();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
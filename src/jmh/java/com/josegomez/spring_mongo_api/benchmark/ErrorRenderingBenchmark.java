@@ -0,0 +1,91 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+import com.josegomez.spring_mongo_api.exceptions.GlobalExceptionHandler;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * GlobalExceptionHandler building the error response and Jackson writing it, what a failed
+ * request costs once the exception reaches the controller advice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorRenderingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private ServletWebRequest webRequest;
+    private ApiException apiException;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        // the defaults of Spring Boot's JacksonAutoConfiguration
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        request = new MockHttpServletRequest("POST", "/api/users");
+        webRequest = new ServletWebRequest(request);
+        apiException = new ApiException(HttpStatus.NOT_FOUND.value(), "User not found");
+
+        // bound and validated as Spring MVC does for a @Valid body
+        UserRequestDTO invalidRequest = BenchmarkFixtures.invalidUserRequest();
+        BeanPropertyBindingResult bindingResult =
+                new BeanPropertyBindingResult(invalidRequest, "userRequestDTO");
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            new SpringValidatorAdapter(validatorFactory.getValidator())
+                    .validate(invalidRequest, bindingResult);
+        }
+        MethodParameter parameter = new MethodParameter(
+                ErrorRenderingBenchmark.class.getDeclaredMethod("create", UserRequestDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] apiException() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleApiException(apiException, request).getBody());
+    }
+
+    @Benchmark
+    public byte[] validationException() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                handler.handleValidationException(validationException, webRequest).getBody());
+    }
+
+    // stands for the controller method the invalid body was bound to
+    static void create(UserRequestDTO request) {
+    }
+}
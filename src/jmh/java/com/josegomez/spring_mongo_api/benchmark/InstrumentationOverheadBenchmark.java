@@ -0,0 +1,108 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.josegomez.spring_mongo_api.security.VerifiedToken;
+import com.josegomez.spring_mongo_api.service.JwtService;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of the timers added along the request path, to decide whether they can stay on in
+ * production. Each benchmark runs with no meters (a registry without backends hands out no-op
+ * meters), plain timers, and timers with the histogram and percentiles configured in
+ * application.yml. Four threads record into the same timers, as request threads do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({ "none", "timer", "histogram" })
+    public String instrumentation;
+
+    private Timer timer;
+    private JwtService jwtService;
+    private String token;
+    private final AtomicLong ids = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        MeterRegistry meterRegistry = switch (instrumentation) {
+            case "none" -> new CompositeMeterRegistry();
+            case "timer" -> new SimpleMeterRegistry();
+            default -> histogramRegistry();
+        };
+        // stands for sequence.next served from an in-memory block, the cheapest timed call
+        timer = Timer.builder("sequence.next").tag("collection", "user").register(meterRegistry);
+        jwtService = new JwtService(BenchmarkFixtures.jwtProperties(), meterRegistry);
+        token = jwtService.generateAccessToken(new User("bench", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Benchmark
+    public long baselineIncrement() {
+        return ids.incrementAndGet();
+    }
+
+    @Benchmark
+    public long timedIncrement() {
+        long start = System.nanoTime();
+        try {
+            return ids.incrementAndGet();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken jwtVerify() {
+        return jwtService.verify(token);
+    }
+
+    // what Spring Boot applies from management.metrics.distribution
+    private static MeterRegistry histogramRegistry() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id,
+                    DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue((double) Duration.ofNanos(1_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(1).toNanos())
+                        .build().merge(config);
+            }
+        });
+        return meterRegistry;
+    }
+}
@@ -0,0 +1,52 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.josegomez.spring_mongo_api.monitoring.jfr.SequenceAllocationEvent;
+
+/**
+ * Cost of the custom JFR events around a call when no recording is running, the usual state in
+ * production. Run it with -Djmh.extraArgs="-jvmArgs -XX:StartFlightRecording" to see the cost
+ * while recording.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JfrEventOverheadBenchmark {
+
+    private long next;
+
+    @Benchmark
+    public long baseline() {
+        return ++next;
+    }
+
+    // the begin, end, shouldCommit and commit sequence used along the request path
+    @Benchmark
+    public long withEvent() {
+        SequenceAllocationEvent event = new SequenceAllocationEvent();
+        event.begin();
+        long id = ++next;
+        event.end();
+        if (event.shouldCommit()) {
+            event.collection = "user";
+            event.size = 1;
+            event.lastId = id;
+            event.commit();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,87 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.josegomez.spring_mongo_api.security.JwtProperties;
+import com.josegomez.spring_mongo_api.security.VerifiedToken;
+import com.josegomez.spring_mongo_api.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the token handling done by JwtAuthenticationFilter before and after the single parse
+ * pipeline, and measures signing and parsing on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtProperties jwtProperties;
+    private JwtService jwtService;
+    private User userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtProperties = BenchmarkFixtures.jwtProperties();
+        jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+        userDetails = new User("bench", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtService.generateAccessToken(userDetails);
+    }
+
+    // what every login pays after the password check
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    // extractUsername followed by isTokenExpired, each one deriving the key and building a parser
+    @Benchmark
+    public boolean previousFilterPath() {
+        String username = legacyExtractAllClaims(token).getSubject();
+        boolean expired = legacyExtractAllClaims(token).getExpiration().before(new Date());
+        return username != null && !expired;
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedTokenPath() {
+        return jwtService.verify(token);
+    }
+
+    private Claims legacyExtractAllClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
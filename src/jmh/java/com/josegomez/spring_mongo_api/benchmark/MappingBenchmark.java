@@ -0,0 +1,69 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.josegomez.spring_mongo_api.domain.common.ModelMapperConfig;
+import com.josegomez.spring_mongo_api.domain.dto.RoleRequestDTO;
+import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.domain.model.User;
+
+/**
+ * The ModelMapper calls of RoleService and UserService. The type maps are created in the setup,
+ * as they are after the first request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private RoleRequestDTO roleRequest;
+    private Role role;
+    private UserRequestDTO userRequest;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        roleRequest = new RoleRequestDTO("admin", "Administrator");
+        role = BenchmarkFixtures.roles().get(0);
+        userRequest = BenchmarkFixtures.userRequest();
+        roleRequestToRole();
+        roleToResponse();
+        userRequestToUser();
+    }
+
+    // RoleService.save
+    @Benchmark
+    public Role roleRequestToRole() {
+        return modelMapper.map(roleRequest, Role.class);
+    }
+
+    // RoleService responses
+    @Benchmark
+    public RoleResponseDTO roleToResponse() {
+        return modelMapper.map(role, RoleResponseDTO.class);
+    }
+
+    // UserService.save
+    @Benchmark
+    public User userRequestToUser() {
+        return modelMapper.map(userRequest, User.class);
+    }
+}
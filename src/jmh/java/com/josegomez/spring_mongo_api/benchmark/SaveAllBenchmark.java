@@ -0,0 +1,110 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.service.MongoSequenceIdStrategy;
+import com.josegomez.spring_mongo_api.service.SequenceGeneratorService;
+import com.josegomez.spring_mongo_api.service.SequenceIdAssigner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Importing 10k new users: one id and one insert per user, as saveAll did through
+ * SequenceIdListener, against the ids of the whole list reserved at once and a single insertMany.
+ * mode is sequence.mode, BLOCK only changes the per user path.
+ * <p>
+ * Needs a MongoDB, -Dbenchmark.mongo.uri (mongodb://localhost:27017 by default). Uses its own
+ * spring_mongo_api_benchmark_import database, the users are dropped before every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveAllBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({ "SINGLE", "BLOCK" })
+    private SequenceProperties.Mode mode;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SequenceGeneratorService sequenceGenerator;
+    private SequenceIdAssigner sequenceIdAssigner;
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri",
+                "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, "spring_mongo_api_benchmark_import");
+
+        SequenceProperties sequenceProperties = new SequenceProperties();
+        sequenceProperties.setMode(mode);
+        // no application context here, wired as Spring would
+        sequenceGenerator = new SequenceGeneratorService();
+        ReflectionTestUtils.setField(sequenceGenerator, "mongoOperations", mongoTemplate);
+        ReflectionTestUtils.setField(sequenceGenerator, "sequenceProperties", sequenceProperties);
+        ReflectionTestUtils.setField(sequenceGenerator, "meterRegistry", new SimpleMeterRegistry());
+        sequenceIdAssigner = new SequenceIdAssigner(
+                List.of(new MongoSequenceIdStrategy(sequenceGenerator)), sequenceProperties);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyUsers() {
+        mongoTemplate.dropCollection(User.class);
+        users = new ArrayList<>(USERS);
+        for (long i = 1; i <= USERS; i++) {
+            users.add(new User(null, "Nombre", "Apellido", "Prueba", List.of(1L), "import" + i,
+                    "hash", false, "import" + i + "@mail.com"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequenceGenerator.shutdown();
+        client.close();
+    }
+
+    // the listener on each repository.save: an id, then an insert
+    @Benchmark
+    public List<User> perEntity() {
+        for (User user : users) {
+            sequenceIdAssigner.assignId(user);
+            mongoTemplate.insert(user);
+        }
+        return users;
+    }
+
+    // UserService.saveAll: one $inc of 10k, then repository.insert
+    @Benchmark
+    public List<User> batched() {
+        sequenceIdAssigner.assignIds(users);
+        mongoTemplate.insert(users, User.class);
+        return users;
+    }
+}
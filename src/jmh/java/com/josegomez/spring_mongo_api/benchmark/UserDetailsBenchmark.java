@@ -0,0 +1,45 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.security.CustomUserDetails;
+
+/**
+ * Building the CustomUserDetails of an authenticated user, done on every user details cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private User user;
+    private List<Role> roles;
+
+    @Setup
+    public void setup() {
+        user = BenchmarkFixtures.user();
+        roles = BenchmarkFixtures.roles();
+    }
+
+    @Benchmark
+    public CustomUserDetails construct() {
+        return new CustomUserDetails(user, roles);
+    }
+}
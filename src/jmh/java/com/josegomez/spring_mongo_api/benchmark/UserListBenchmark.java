@@ -0,0 +1,252 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.json.JsonWriterSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.search.SearchCriteria;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * A page of 10 users and its total on a synthetic collection of 1M users, unfiltered and filtered
+ * by name:
+ * <ul>
+ * <li>lookupFirst: roles joined to every user before $sort, $skip and $limit, then a count</li>
+ * <li>findThenCount: whole documents of the page, then an exact count, as UserService did before
+ * the list queries were projected</li>
+ * <li>facet: UserService.findPageWithCount, the projected page and the total in one aggregation,
+ * what total=exact runs</li>
+ * <li>projectedFind: the projected page, then the estimated size of the collection when
+ * unfiltered and a count when filtered, what total=estimated runs on a count cache miss</li>
+ * </ul>
+ * The setup prints the executionStats explain of the commands of each variant and writes the full
+ * explain to -Dbenchmark.explain.dir (target/explain by default).
+ * <p>
+ * Needs a MongoDB, -Dbenchmark.mongo.uri (mongodb://localhost:27017 by default). Shares the
+ * users of UserSearchBenchmark in the spring_mongo_api_benchmark database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UserListBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+    // same fields as UserService.RESPONSE_FIELDS
+    private static final String[] RESPONSE_FIELDS =
+            { "firstName", "lastNamePaternal", "lastNameMaternal", "roles" };
+
+    @Param({ "", "mar" })
+    private String name;
+
+    @Param({ "0", "1000" })
+    private long offset;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private Criteria criteria;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri",
+                "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, "spring_mongo_api_benchmark");
+        BenchmarkFixtures.seedUsers(mongoTemplate, USERS);
+        if (mongoTemplate.estimatedCount(Role.class) == 0) {
+            mongoTemplate.insertAll(BenchmarkFixtures.roles());
+        }
+        mongoTemplate.indexOps(User.class)
+                .createIndex(new Index().on("search.terms", Sort.Direction.ASC));
+        mongoTemplate.indexOps(User.class)
+                .createIndex(new Index().on("search.grams", Sort.Direction.ASC));
+        criteria = SearchCriteria.matching(name);
+
+        explain("lookupFirst", List.of(aggregateCommand(lookupFirstPipeline()), countCommand()));
+        explain("findThenCount", List.of(findCommand(false), countCommand()));
+        explain("facet", List.of(aggregateCommand(facetPipeline())));
+        explain("projectedFind", name.isEmpty() ? List.of(findCommand(true))
+                : List.of(findCommand(true), countCommand()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public void lookupFirst(Blackhole blackhole) {
+        blackhole.consume(mongoTemplate.aggregate(lookupFirstPipeline(), "user", Document.class)
+                .getMappedResults());
+        blackhole.consume(mongoTemplate.count(new Query(criteria), User.class));
+    }
+
+    @Benchmark
+    public void findThenCount(Blackhole blackhole) {
+        blackhole.consume(mongoTemplate.find(pageQuery(false), User.class));
+        blackhole.consume(mongoTemplate.count(new Query(criteria), User.class));
+    }
+
+    @Benchmark
+    public Document facet() {
+        return mongoTemplate.aggregate(facetPipeline(), "user", Document.class).getUniqueMappedResult();
+    }
+
+    @Benchmark
+    public void projectedFind(Blackhole blackhole) {
+        blackhole.consume(mongoTemplate.find(pageQuery(true), User.class));
+        blackhole.consume(name.isEmpty() ? mongoTemplate.estimatedCount(User.class)
+                : mongoTemplate.count(new Query(criteria), User.class));
+    }
+
+    private Aggregation lookupFirstPipeline() {
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.lookup("role", "roles", "_id", "roleDocuments"),
+                Aggregation.sort(Sort.by("_id")),
+                Aggregation.skip(offset),
+                Aggregation.limit(PAGE_SIZE));
+    }
+
+    private Aggregation facetPipeline() {
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by("_id")),
+                Aggregation.facet(
+                        Aggregation.skip(offset),
+                        Aggregation.limit(PAGE_SIZE),
+                        Aggregation.project(RESPONSE_FIELDS)).as("content")
+                        .and(Aggregation.count().as("total")).as("total"));
+    }
+
+    private Query pageQuery(boolean projected) {
+        Query query = new Query(criteria).with(Sort.by("_id")).skip(offset).limit(PAGE_SIZE);
+        if (projected) {
+            query.fields().include(RESPONSE_FIELDS);
+        }
+        return query;
+    }
+
+    private Document aggregateCommand(Aggregation aggregation) {
+        return new Document("aggregate", "user")
+                .append("pipeline", aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT))
+                .append("cursor", new Document());
+    }
+
+    private Document findCommand(boolean projected) {
+        Query query = pageQuery(projected);
+        return new Document("find", "user").append("filter", query.getQueryObject())
+                .append("sort", query.getSortObject()).append("projection", query.getFieldsObject())
+                .append("skip", query.getSkip()).append("limit", query.getLimit());
+    }
+
+    private Document countCommand() {
+        return new Document("count", "user").append("query", new Query(criteria).getQueryObject());
+    }
+
+    private void explain(String variant, List<Document> commands) {
+        Path dir = Path.of(System.getProperty("benchmark.explain.dir", "target/explain"));
+        List<Document> explains = new ArrayList<>();
+        for (Document command : commands) {
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", command).append("verbosity", "executionStats"));
+            explains.add(explain);
+            System.out.printf("%s [name=%s, offset=%d] %s: %s%n", variant, name, offset,
+                    command.keySet().iterator().next(), summary(explain));
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(variant + "-" + (name.isEmpty() ? "all" : name) + "-"
+                    + offset + ".json"), new Document("explains", explains)
+                            .toJson(JsonWriterSettings.builder().indent(true).build()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // plan stages, keys and documents examined, documents returned and time
+    private static String summary(Document explain) {
+        List<String> stages = new ArrayList<>();
+        // an aggregation not pushed down to the query layer lists its stages, $cursor first
+        if (explain.get("stages") instanceof List<?> pipeline) {
+            pipeline.forEach(stage -> stages.addAll(((Document) stage).keySet()));
+        }
+        collectPlanStages(explain, stages);
+        Document stats = find(explain, "executionStats");
+        if (stats == null) {
+            return String.join(" > ", stages);
+        }
+        return String.format("%s, keys %s, docs %s, returned %s, %s ms", String.join(" > ", stages),
+                stats.get("totalKeysExamined"), stats.get("totalDocsExamined"),
+                stats.get("nReturned"), stats.get("executionTimeMillis"));
+    }
+
+    // stages of the winning plans, outermost first
+    private static void collectPlanStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.forEach((key, value) -> {
+                if (!key.equals("rejectedPlans") && !key.equals("executionStats")) {
+                    collectPlanStages(value, stages);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collectPlanStages(item, stages));
+        }
+    }
+
+    private static Document find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return found;
+            }
+            for (Object value : document.values()) {
+                Document found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object item : list) {
+                Document found = find(item, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import com.josegomez.spring_mongo_api.config.MongoIndexConfig;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.search.SearchCriteria;
+import com.josegomez.spring_mongo_api.search.SearchNormalizer;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * First page of 10 users and the total of a name search, as the endpoints run it, on a synthetic
+ * collection of 1M users: the former case-insensitive regex on firstName, the normalized
+ * prefix/trigram search of /filter and the text search of /search.
+ * <p>
+ * Needs a MongoDB, -Dbenchmark.mongo.uri (mongodb://localhost:27017 by default). The users are
+ * inserted into the spring_mongo_api_benchmark database on the first run and reused afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({ "mar", "gonzalez", "juan perez" })
+    private String name;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri",
+                "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, "spring_mongo_api_benchmark");
+        BenchmarkFixtures.seedUsers(mongoTemplate, USERS);
+        mongoTemplate.indexOps(User.class).createIndex(new Index()
+                .on("firstName", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+        mongoTemplate.indexOps(User.class)
+                .createIndex(new Index().on("search.terms", Sort.Direction.ASC));
+        mongoTemplate.indexOps(User.class)
+                .createIndex(new Index().on("search.grams", Sort.Direction.ASC));
+        mongoTemplate.indexOps(User.class).createIndex(MongoIndexConfig.userNameTextIndex());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    // what /filter ran before the normalized fields, first name only
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        Criteria criteria = Criteria.where("firstName").regex(name, "i");
+        page(new Query(criteria).with(Sort.by("id")), new Query(criteria), blackhole);
+    }
+
+    @Benchmark
+    public void normalized(Blackhole blackhole) {
+        Criteria criteria = SearchCriteria.matching(name);
+        page(new Query(criteria).with(Sort.by("id")), new Query(criteria), blackhole);
+    }
+
+    @Benchmark
+    public void text(Blackhole blackhole) {
+        TextCriteria criteria = TextCriteria.forLanguage(MongoIndexConfig.TEXT_LANGUAGE)
+                .matchingAny(SearchNormalizer.terms(name).toArray(String[]::new));
+        page(TextQuery.queryText(criteria).sortByScore().with(Sort.by("id")),
+                new Query(criteria), blackhole);
+    }
+
+    private void page(Query query, Query filter, Blackhole blackhole) {
+        blackhole.consume(mongoTemplate.find(query.limit(PAGE_SIZE), User.class));
+        blackhole.consume(mongoTemplate.count(filter, User.class));
+    }
+}
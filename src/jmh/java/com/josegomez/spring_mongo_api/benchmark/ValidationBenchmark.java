@@ -0,0 +1,76 @@
+package com.josegomez.spring_mongo_api.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
+import com.josegomez.spring_mongo_api.validation.validator.UniqueRolesValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * The @UniqueRoles check alone and the full Bean Validation of a user request, as done for
+ * the @Valid bodies of UserController.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UniqueRolesValidator uniqueRolesValidator;
+    private List<String> roleKeys;
+    private UserRequestDTO validRequest;
+    private UserRequestDTO invalidRequest;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        uniqueRolesValidator = new UniqueRolesValidator();
+        validRequest = BenchmarkFixtures.userRequest();
+        invalidRequest = BenchmarkFixtures.invalidUserRequest();
+        roleKeys = validRequest.getRoleKeys();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean uniqueRoles() {
+        return uniqueRolesValidator.isValid(roleKeys, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestDTO>> validRequest() {
+        return validator.validate(validRequest);
+    }
+
+    // builds a violation and interpolates a message per failed constraint
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestDTO>> invalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
@@ -3,10 +3,12 @@ package com.josegomez.spring_mongo_api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode;
 
 @EnableSpringDataWebSupport(pageSerializationMode = PageSerializationMode.VIA_DTO)
 @SpringBootApplication
+@EnableScheduling
 public class SpringMongoApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.josegomez.spring_mongo_api.cache;
+
+import com.josegomez.spring_mongo_api.domain.event.CacheInvalidationEvent;
+
+/**
+ * Delivers invalidation events to the @EventListener methods of every node running the
+ * application, the local node included.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Delivers the event to the local listeners before returning, and to the other nodes
+     * asynchronously.
+     *
+     * @param event what changed
+     */
+    void publish(CacheInvalidationEvent event);
+}
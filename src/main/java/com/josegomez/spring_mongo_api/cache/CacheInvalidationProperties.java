@@ -0,0 +1,23 @@
+package com.josegomez.spring_mongo_api.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.invalidation")
+@Getter
+@Setter
+public class CacheInvalidationProperties {
+    // memory: single node, mongo: broadcast through the capped cacheEvents collection
+    private String bus = "memory";
+    // size of the capped collection, a node disconnected longer than it takes to fill it resets
+    private long cappedSizeBytes = 1024 * 1024;
+    private long cappedMaxDocuments = 10_000;
+    // wait for new events on each getMore, also the delay before reopening a dead cursor
+    private Duration maxAwait = Duration.ofSeconds(1);
+}
@@ -0,0 +1,26 @@
+package com.josegomez.spring_mongo_api.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.event.CacheInvalidationEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bus for a single node and for tests, events only reach the local listeners.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "bus", havingValue = "memory",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,242 @@
+package com.josegomez.spring_mongo_api.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.event.CacheInvalidationEvent;
+import com.josegomez.spring_mongo_api.domain.event.CacheResetEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleCatalogChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus shared by all the nodes through the capped cacheEvents collection. Every node appends the
+ * events it publishes and follows the collection with a tailable cursor, delivering the events of
+ * the other nodes to its local listeners.
+ *
+ * The cursor reads in insertion order. The ObjectIds are generated by each publishing node, so
+ * they are never compared: after a reconnection the node reads the collection from the start
+ * and skips up to the last document it saw. A capped collection overwrites its oldest documents,
+ * so when that document is gone the events in between may be lost. The node then publishes a
+ * local CacheResetEvent and every cache starts empty instead of staying stale.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "bus", havingValue = "mongo")
+@Slf4j
+public class MongoCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    static final String COLLECTION = "cacheEvents";
+    static final String USER = "user";
+    static final String ROLE_CATALOG = "roleCatalog";
+    static final String NODE_STARTED = "nodeStarted";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Timer propagation;
+    private final Counter resets;
+    private final Counter publishFailures;
+
+    private volatile boolean running;
+    private Thread tailer;
+
+    // tailer thread only: last document delivered or skipped, whether the current cursor has
+    // read past it and the last document the current cursor read
+    private ObjectId lastId;
+    private boolean positioned;
+    private ObjectId lastRead;
+
+    public MongoCacheInvalidationBus(MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher, CacheInvalidationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.propagation = Timer.builder("cache.invalidation.propagation")
+                .description("Time from the publication of an event to its delivery on another node")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resets = Counter.builder("cache.invalidation.resets")
+                .description("Full cache resets after events may have been missed")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("cache.invalidation.publish.failures")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        eventPublisher.publishEvent(event);
+        try {
+            collection().insertOne(toDocument(event));
+        } catch (MongoException e) {
+            // the other nodes keep the entry until its ttl
+            publishFailures.increment();
+            log.warn("Could not broadcast {}", event, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty()
+                    .capped().size(properties.getCappedSizeBytes())
+                    .maxDocuments(properties.getCappedMaxDocuments()));
+        }
+        publishStarted();
+        running = true;
+        tailer = new Thread(this::tail, "cache-invalidation-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Appends a marker where this node starts following the collection, the events before it were
+     * published before its caches were filled. It also keeps the collection from being empty, a
+     * tailable cursor on an empty collection dies at once.
+     */
+    void publishStarted() {
+        Document marker = new Document("_id", new ObjectId()).append("origin", nodeId)
+                .append("publishedAt", new Date()).append("type", NODE_STARTED);
+        collection().insertOne(marker);
+        lastId = marker.getObjectId("_id");
+    }
+
+    private void tail() {
+        Duration maxAwait = properties.getMaxAwait();
+
+        while (running) {
+            try (MongoCursor<Document> cursor = collection().find()
+                    .cursorType(CursorType.TailableAwait)
+                    .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS)
+                    .iterator()) {
+                rewind();
+                while (running && follow(cursor)) {
+                    // until the cursor dies
+                }
+            } catch (MongoException e) {
+                // CappedPositionLost when the documents under the cursor were overwritten, the
+                // reopened cursor no longer finds the last one seen and resets
+                if (running) {
+                    log.warn("Cache invalidation cursor failed, reopening", e);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not deliver a cache invalidation event", e);
+            }
+            sleep(maxAwait);
+        }
+    }
+
+    // a new cursor reads the collection from the start
+    void rewind() {
+        positioned = false;
+        lastRead = null;
+    }
+
+    /**
+     * Reads the next document of a cursor opened at the start of the collection. Documents up to
+     * the last one seen are skipped, reaching the end without finding it resets the caches.
+     *
+     * @return false when the cursor is dead
+     */
+    boolean follow(MongoCursor<Document> cursor) {
+        Document document = cursor.tryNext();
+        if (document == null) {
+            if (!positioned) {
+                // the next cursor resumes after the last document of this one
+                positioned = true;
+                if (lastRead != null) {
+                    lastId = lastRead;
+                }
+                reset();
+            }
+            return cursor.getServerCursor() != null;
+        }
+        ObjectId id = document.getObjectId("_id");
+        lastRead = id;
+        if (positioned) {
+            lastId = id;
+            deliver(document);
+        } else if (id.equals(lastId)) {
+            positioned = true;
+        }
+        return true;
+    }
+
+    private void reset() {
+        log.warn("Cache invalidation events may have been missed, resetting caches");
+        resets.increment();
+        eventPublisher.publishEvent(new CacheResetEvent());
+    }
+
+    private void deliver(Document document) {
+        if (nodeId.equals(document.getString("origin"))) {
+            return;
+        }
+        CacheInvalidationEvent event = switch (document.getString("type")) {
+            case USER -> new UserChangedEvent(document.getString("key"));
+            case ROLE_CATALOG -> new RoleCatalogChangedEvent();
+            default -> null;
+        };
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+            propagation.record(Duration.ofMillis(
+                    System.currentTimeMillis() - document.getDate("publishedAt").getTime()));
+        }
+    }
+
+    private Document toDocument(CacheInvalidationEvent event) {
+        Document document = new Document("origin", nodeId).append("publishedAt", new Date());
+        return switch (event) {
+            case UserChangedEvent userChanged -> document.append("type", USER)
+                    .append("key", userChanged.username());
+            case RoleCatalogChangedEvent roleCatalogChanged -> document.append("type", ROLE_CATALOG);
+        };
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
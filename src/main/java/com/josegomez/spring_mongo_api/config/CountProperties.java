@@ -0,0 +1,21 @@
+package com.josegomez.spring_mongo_api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "count")
+@Getter
+@Setter
+public class CountProperties {
+    // how long the estimated size of a collection is reused by the list endpoints
+    private Duration estimateTtl = Duration.ofSeconds(5);
+    // how long the count of a filter is reused, totals of searches may lag by this much
+    private Duration filteredTtl = Duration.ofSeconds(10);
+    private long filteredMaximumSize = 1_000;
+}
@@ -14,9 +14,13 @@ import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
 import com.josegomez.spring_mongo_api.domain.model.InitializationTask;
 import com.josegomez.spring_mongo_api.domain.model.Role;
 import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.monitoring.jfr.InitializationTaskEvent;
 import com.josegomez.spring_mongo_api.repository.InitializationTaskRepository;
 import com.josegomez.spring_mongo_api.repository.RoleRepository;
 import com.josegomez.spring_mongo_api.repository.UserRepository;
+import com.josegomez.spring_mongo_api.search.SearchBackfill;
+import com.josegomez.spring_mongo_api.search.SearchNormalizer;
+import com.josegomez.spring_mongo_api.service.RoleCatalog;
 import com.josegomez.spring_mongo_api.service.RoleService;
 import com.josegomez.spring_mongo_api.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -36,8 +40,10 @@ public class DataInitializer implements CommandLineRunner {
     private final UserService userService;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
     private final PasswordEncoder passwordEncoder;
     private final InitializationTaskRepository initTaskRepository;
+    private final SearchBackfill searchBackfill;
 
     @Value("${admin.email}")
     private String adminEmail;
@@ -52,12 +58,25 @@ public class DataInitializer implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
 
-        loadRoles();
-        loadUsers();
-        fixRolePrefixes();
-        fixPreviouslySavedUsers();
-        loadAdminUser();
-        addAdminEmail();
+        runTask("loadRoles", this::loadRoles);
+        runTask("loadUsers", this::loadUsers);
+        runTask("fixRolePrefixes", this::fixRolePrefixes);
+        runTask("fixPreviouslySavedUsers", this::fixPreviouslySavedUsers);
+        runTask("loadAdminUser", this::loadAdminUser);
+        runTask("addAdminEmail", this::addAdminEmail);
+        runTask("backfillSearchFields", this::backfillSearchFields);
+    }
+
+    // each task shows up as an InitializationTaskEvent in a recording started with the JVM
+    private void runTask(String name, Runnable task) {
+        InitializationTaskEvent event = new InitializationTaskEvent();
+        event.begin();
+        task.run();
+        event.end();
+        if (event.shouldCommit()) {
+            event.task = name;
+            event.commit();
+        }
     }
 
     private void loadRoles() {
@@ -113,7 +132,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private void loadAdminUser() {
         if (userRepository.findByUsername("admin").isEmpty()) {
-            List<Role> adminRoles = roleRepository.findByKeyIn(List.of("ROLE_ADMIN"));
+            List<Role> adminRoles = roleCatalog.findByKeys(List.of("ROLE_ADMIN"));
             List<Long> roleIds = adminRoles.stream()
                     .map(Role::getId)
                     .collect(Collectors.toList());
@@ -177,6 +196,7 @@ public class DataInitializer implements CommandLineRunner {
                 roleRepository.save(role);
             }
         });
+        roleCatalog.reload();
 
         InitializationTask task = new InitializationTask();
         task.setKey(taskKey);
@@ -212,4 +232,28 @@ public class DataInitializer implements CommandLineRunner {
         log.debug("Add admin email success");
 
     }
+
+    private void backfillSearchFields() {
+        log.debug("Backfill search fields start");
+        // a new version of the normalization rules is a new task
+        String taskKey = "BACKFILL_SEARCH_FIELDS_V" + SearchNormalizer.VERSION;
+
+        boolean alreadyExecuted = initTaskRepository.existsById(taskKey);
+        if (alreadyExecuted) {
+            log.debug("Backfill search fields already executed");
+            return;
+        }
+
+        long users = searchBackfill.backfill(User.class);
+        long roles = searchBackfill.backfill(Role.class);
+
+        InitializationTask task = new InitializationTask();
+        task.setKey(taskKey);
+        task.setDescription("Normalized search fields of users and roles");
+        task.setExecutedAt(Instant.now());
+        task.setExecuted(true);
+        initTaskRepository.save(task);
+        log.debug("Backfill search fields success, {} users and {} roles", users, roles);
+
+    }
 }
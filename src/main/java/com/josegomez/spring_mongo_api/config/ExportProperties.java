@@ -0,0 +1,16 @@
+package com.josegomez.spring_mongo_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "export")
+@Getter
+@Setter
+public class ExportProperties {
+    // documents fetched per cursor batch, and rows written between two flushes of the response
+    private int batchSize = 500;
+}
@@ -0,0 +1,35 @@
+package com.josegomez.spring_mongo_api.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
+
+/**
+ * With sequence.ids-as-strings the ids of the responses are written as JSON strings, snowflake
+ * ids do not fit in the 53 bits of a JavaScript number. Off by default, ids stay numbers.
+ */
+@Configuration
+public class JsonIdConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer idsAsStrings(SequenceProperties sequenceProperties) {
+        return builder -> {
+            if (sequenceProperties.isIdsAsStrings()) {
+                builder.mixIn(UserResponseDTO.class, StringId.class)
+                        .mixIn(RoleResponseDTO.class, StringId.class)
+                        .mixIn(UserSuggestionDTO.class, StringId.class);
+            }
+        };
+    }
+
+    abstract static class StringId {
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long id;
+    }
+}
@@ -1,27 +1,71 @@
 package com.josegomez.spring_mongo_api.config;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
-import jakarta.annotation.PostConstruct;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition.TextIndexDefinitionBuilder;
+
+import com.josegomez.spring_mongo_api.index.IndexRegistry;
 
 /**
- * The `MongoIndexConfig` class in Java creates unique indexes on the "key" and "name" fields of the
- * "role" collection using `MongoTemplate`.
+ * The `MongoIndexConfig` class in Java declares every index of the application in an
+ * `IndexRegistry`: unique indexes on the "key" and "name" fields of the "role" collection and on
+ * the "username" of the "user" collection, the lookups and sorts of both collections, the indexes
+ * of the name and text searches, and the TTL index of the "refreshToken" collection.
+ * `auto-index-creation` is off, so these are the only indexes; `IndexManager` builds them in the
+ * background and reports the live ones that differ.
  */
 @Configuration
 public class MongoIndexConfig {
 
-    @Autowired
-    private MongoTemplate mongoTemplate;
+    public static final String TEXT_LANGUAGE = "spanish";
+
+    @Bean
+    public IndexRegistry indexRegistry() {
+        IndexRegistry registry = new IndexRegistry()
+                .add("role", new Index().on("key", Sort.Direction.ASC).unique())
+                .add("role", new Index().on("name", Sort.Direction.ASC).unique())
+                // login looks users up by username, sparse because incomplete users have none
+                .add("user", new Index().on("username", Sort.Direction.ASC).unique().sparse())
+                // not unique, existing data may repeat an email
+                .add("user", new Index().on("email", Sort.Direction.ASC).sparse())
+                // multikey, users of a role: role deletion check and token invalidation
+                .add("user", new Index().on("roles", Sort.Direction.ASC));
+        // keyset pagination, sort key with _id as tie-breaker, also walked backwards for desc
+        for (String field : List.of("firstName", "lastNamePaternal", "lastNameMaternal")) {
+            registry.add("user", new Index()
+                    .on(field, Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+        }
+        for (String field : List.of("key", "name")) {
+            registry.add("role", new Index()
+                    .on(field, Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+        }
+        // name search, prefixes walk search.terms and infixes search.grams, both multikey
+        for (String collection : List.of("user", "role")) {
+            registry.add(collection, new Index().on("search.terms", Sort.Direction.ASC))
+                    .add(collection, new Index().on("search.grams", Sort.Direction.ASC));
+        }
+        return registry.add("user", userNameTextIndex())
+                // TTL index, refresh tokens are removed once expiresAt is reached
+                .add("refreshToken",
+                        new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO))
+                .add("refreshToken", new Index().on("familyId", Sort.Direction.ASC));
+    }
 
-    @PostConstruct
-    public void initIndexes() {
-        mongoTemplate.indexOps("role")
-                .createIndex(new Index().on("key", Sort.Direction.ASC).unique());
-        mongoTemplate.indexOps("role")
-                .createIndex(new Index().on("name", Sort.Direction.ASC).unique());
+    /**
+     * The only text index a collection can have: first and last names, stemmed as Spanish. It is
+     * also case and diacritic insensitive.
+     *
+     * @return definition of the text index of the "user" collection
+     */
+    public static TextIndexDefinition userNameTextIndex() {
+        return new TextIndexDefinitionBuilder().named("user_name_text")
+                .onField("firstName").onField("lastNamePaternal").onField("lastNameMaternal")
+                .withDefaultLanguage(TEXT_LANGUAGE).build();
     }
 }
@@ -0,0 +1,63 @@
+package com.josegomez.spring_mongo_api.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the id generation of SequenceIdentifiable entities.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "sequence")
+@Getter
+@Setter
+public class SequenceProperties {
+
+    // strategy used by collections without an entry in strategies
+    private Strategy strategy = Strategy.SEQUENCE;
+    // per collection override, e.g. sequence.strategies.user=snowflake
+    private Map<String, Strategy> strategies = new HashMap<>();
+    // ids of the responses as JSON strings, to turn on with snowflake ids (over 2^53)
+    private boolean idsAsStrings = false;
+
+    // SINGLE does one $inc per id, BLOCK reserves blockSize ids per $inc
+    private Mode mode = Mode.SINGLE;
+    private int blockSize = 50;
+    // remaining ids in the current block when the next block is requested in background
+    private int prefetchThreshold = 10;
+
+    private Snowflake snowflake = new Snowflake();
+
+    public enum Strategy {
+        SEQUENCE, SNOWFLAKE
+    }
+
+    public enum Mode {
+        SINGLE, BLOCK
+    }
+
+    public enum NodeIdSource {
+        // node id taken from nodeId
+        CONFIGURED,
+        // ordinal suffix of the host name (statefulset style "api-3"), hash of the name otherwise
+        HOSTNAME
+    }
+
+    @Getter
+    @Setter
+    public static class Snowflake {
+        private NodeIdSource nodeIdSource = NodeIdSource.CONFIGURED;
+        // 0..1023, must be unique per running node
+        private int nodeId = 0;
+        private Instant epoch = Instant.parse("2025-01-01T00:00:00Z");
+        // backward clock jumps up to this value keep using the last timestamp, bigger jumps fail
+        private Duration clockSkewTolerance = Duration.ofMillis(10);
+    }
+}
@@ -12,6 +12,7 @@ import com.josegomez.spring_mongo_api.domain.dto.AuthRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.AuthResponseDTO;
 import com.josegomez.spring_mongo_api.domain.dto.GenerateTokenRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.GenerateTokenResponsetDTO;
+import com.josegomez.spring_mongo_api.domain.dto.RefreshTokenRequestDTO;
 import com.josegomez.spring_mongo_api.service.AuthService;
 
 import jakarta.validation.Valid;
@@ -29,6 +30,11 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
     @PostMapping("/activate-account")
     public ResponseEntity<Void> activateAccount(@Valid @RequestBody ActivateAccountRequestDTO request) {
         authService.activateAccount(request);
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,9 +20,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.josegomez.spring_mongo_api.domain.common.swaggerAnnotations.RoleApiDoc;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
+import com.josegomez.spring_mongo_api.service.NdjsonExporter;
 import com.josegomez.spring_mongo_api.service.RoleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -68,6 +72,25 @@ public class RoleController implements RoleApiDoc {
                 return ResponseEntity.ok(result);
         }
 
+        @Override
+        @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+        public ResponseEntity<StreamingResponseBody> export() {
+                StreamingResponseBody body = roleService::export;
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(NdjsonExporter.MEDIA_TYPE))
+                                .body(body);
+        }
+
+        @Override
+        @GetMapping("/scroll")
+        public ResponseEntity<CursorPageDTO<RoleResponseDTO>> scroll(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "id") String sortBy,
+                        @RequestParam(defaultValue = "asc") String direction) {
+                return ResponseEntity.ok(roleService.scroll(cursor, size, sortBy, direction));
+        }
+
         @Override
         @GetMapping("/{id:\\d+}")
         public ResponseEntity<RoleResponseDTO> getById(@PathVariable Long id) {
@@ -93,6 +116,18 @@ public class RoleController implements RoleApiDoc {
                 return ResponseEntity.ok(result);
         }
 
+        @Override
+        @GetMapping("/filter/scroll")
+        public ResponseEntity<CursorPageDTO<RoleResponseDTO>> scrollByName(
+                        @RequestParam String name,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "id") String sortBy,
+                        @RequestParam(defaultValue = "asc") String direction) {
+                return ResponseEntity.ok(
+                                roleService.scrollByName(name, cursor, size, sortBy, direction));
+        }
+
         @Override
         @DeleteMapping("/{id:\\d+}")
         public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -1,10 +1,12 @@
 package com.josegomez.spring_mongo_api.controller;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +17,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.josegomez.spring_mongo_api.domain.common.swaggerAnnotations.UserApiDoc;
+import com.josegomez.spring_mongo_api.domain.common.CountMode;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
+import com.josegomez.spring_mongo_api.service.NdjsonExporter;
 import com.josegomez.spring_mongo_api.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -52,13 +59,35 @@ public class UserController implements UserApiDoc {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(defaultValue = "false") boolean all) {
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(defaultValue = "exact") String total) {
 
         Pageable pageable = PageRequest.of(page, size,
                 direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending()
                         : Sort.by(sortBy).ascending());
-        Page<UserResponseDTO> result = userService.findAll(pageable, all);
-        return ResponseEntity.ok(result);
+        CountMode countMode = CountMode.from(total);
+        Page<UserResponseDTO> result = userService.findAll(pageable, all, countMode);
+        return ResponseEntity.ok()
+                .header(CountMode.HEADER, String.valueOf(all || countMode.isExact()))
+                .body(result);
+    }
+
+    @Override
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = userService::export;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonExporter.MEDIA_TYPE))
+                .body(body);
+    }
+
+    @Override
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(userService.scroll(cursor, size, sortBy, direction));
     }
 
     @Override
@@ -73,16 +102,48 @@ public class UserController implements UserApiDoc {
     public ResponseEntity<Page<UserResponseDTO>> searchByName(@RequestParam String name,
             @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "exact") String total) {
         Pageable pageable = PageRequest.of(page, size,
                 direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending()
                         : Sort.by(sortBy).ascending());
-        Page<UserResponseDTO> result = userService.findByName(name, pageable);
+        CountMode countMode = CountMode.from(total);
+        Page<UserResponseDTO> result = userService.findByName(name, pageable, countMode);
         if (result.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().header(CountMode.HEADER, String.valueOf(countMode.isExact()))
+                .body(result);
+    }
+
+    @Override
+    @GetMapping("/search")
+    public ResponseEntity<Page<UserResponseDTO>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "exact") String total) {
+        CountMode countMode = CountMode.from(total);
+        Page<UserResponseDTO> result = userService.search(q, PageRequest.of(page, size), countMode);
+        return ResponseEntity.ok().header(CountMode.HEADER, String.valueOf(countMode.isExact()))
+                .body(result);
+    }
+
+    @Override
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionDTO>> suggest(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.suggest(q, limit));
+    }
+
+    @Override
+    @GetMapping("/filter/scroll")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> scrollByName(@RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(userService.scrollByName(name, cursor, size, sortBy, direction));
     }
 
     @Override
@@ -0,0 +1,38 @@
+package com.josegomez.spring_mongo_api.domain.common;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+/**
+ * How the total of a paged list is obtained, chosen by the client with the `total` parameter.
+ */
+public enum CountMode {
+    // counted on every request
+    EXACT,
+    // collection metadata for unfiltered lists, a briefly cached count for filtered ones
+    ESTIMATED,
+    // not counted, the total only tells whether there is a next page
+    NONE;
+
+    public static final String HEADER = "X-Total-Exact";
+
+    public boolean isExact() {
+        return this == EXACT;
+    }
+
+    /**
+     * @param value exact, estimated or none, in any case
+     * @return the matching mode
+     */
+    public static CountMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST.value(),
+                    "total must be exact, estimated or none");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.josegomez.spring_mongo_api.domain.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+/**
+ * Opaque cursor of a keyset paginated list: the sort it was created for and the sort key and _id
+ * of the row where the page starts, encoded as base64 extended JSON so Long ids keep their type.
+ *
+ * @param sort     sort field and direction, e.g. "firstName,ASC"
+ * @param position keyset position in Spring Data terms
+ */
+public record PageCursor(String sort, KeysetScrollPosition position) {
+
+    // relaxed JSON would write a Long that fits in an int as a plain number, read back as Integer
+    private static final JsonWriterSettings EXTENDED_JSON =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    public String encode() {
+        Document document = new Document("s", sort)
+                .append("b", position.scrollsBackward())
+                .append("k", new Document(position.getKeys()));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(document.toJson(EXTENDED_JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor value received from the client
+     * @param sort   sort of the current request, it must be the one of the cursor
+     * @return the decoded cursor
+     * @throws ApiException 400 if the cursor is malformed or was created for another sort
+     */
+    public static PageCursor decode(String cursor, String sort) {
+        Document document;
+        try {
+            document = Document.parse(new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST.value(), "Invalid cursor");
+        }
+        if (!sort.equals(document.getString("s")) || !(document.get("k") instanceof Document keys)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST.value(),
+                    "Cursor does not match the requested sort");
+        }
+        Map<String, Object> keyMap = keys;
+        return new PageCursor(sort, Boolean.TRUE.equals(document.getBoolean("b"))
+                ? ScrollPosition.backward(keyMap)
+                : ScrollPosition.forward(keyMap));
+    }
+}
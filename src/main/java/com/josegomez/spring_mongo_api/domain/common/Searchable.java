@@ -0,0 +1,14 @@
+package com.josegomez.spring_mongo_api.domain.common;
+
+import java.util.List;
+
+import com.josegomez.spring_mongo_api.domain.model.SearchFields;
+
+// Entities searched by name, their SearchFields are rebuilt by SearchFieldsListener on every save
+public interface Searchable {
+
+    List<String> searchableNames();
+
+    void setSearch(SearchFields search);
+
+}
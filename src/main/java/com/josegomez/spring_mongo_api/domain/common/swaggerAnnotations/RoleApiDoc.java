@@ -2,6 +2,8 @@ package com.josegomez.spring_mongo_api.domain.common.swaggerAnnotations;
 
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -109,6 +111,35 @@ public interface RoleApiDoc {
                         @Parameter(description = "Set to true to ignore pagination and fetch all roles",
                                         example = "false") boolean all);
 
+        // EXPORT
+        @Operation(summary = "Export all roles",
+                        description = "Streams every role as newline delimited JSON, one role per line.")
+        @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Roles streamed",
+                        content = @Content(mediaType = "application/x-ndjson",
+                                        schema = @Schema(implementation = RoleResponseDTO.class)))})
+        ResponseEntity<StreamingResponseBody> export();
+
+        // SCROLL
+        @Operation(summary = "Get roles with cursor pagination",
+                        description = "Returns a page of roles and the opaque `next`/`prev` cursors of the adjacent pages. "
+                                        + "A cursor is only valid with the `sortBy` and `direction` it was created with.")
+        @ApiResponses(value = {@ApiResponse(responseCode = "200",
+                        description = "Roles retrieved successfully",
+                        content = @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CursorPageDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+                                        content = @Content)})
+        ResponseEntity<CursorPageDTO<RoleResponseDTO>> scroll(
+                        @Parameter(description = "Cursor of a previous response, omit for the first page") String cursor,
+
+                        @Parameter(description = "Number of roles per page, at most 100",
+                                        example = "10") int size,
+
+                        @Parameter(description = "id, key or name", example = "id") String sortBy,
+
+                        @Parameter(description = "Sorting direction: 'asc' or 'desc'",
+                                        example = "asc") String direction);
+
         // GET BY ID
         @Operation(summary = "Get role by ID",
                         description = "Retrieves a single role by its unique numeric ID. Returns 404 if not found.")
@@ -123,7 +154,7 @@ public interface RoleApiDoc {
 
         // SEACH BY NAME
         @Operation(summary = "Search roles by name",
-                        description = "Finds roles that contain the given name substring (case-insensitive). "
+                        description = "Finds roles whose name contains every word given, ignoring case and accents. "
                                         + "Supports pagination and sorting. Returns 404 if no results are found.")
         @ApiResponses(value = {@ApiResponse(responseCode = "200",
                         description = "Matching roles found",
@@ -166,6 +197,29 @@ public interface RoleApiDoc {
                         @Parameter(description = "Sorting direction: 'asc' or 'desc'",
                                         example = "desc") String direction);
 
+        // SCROLL BY NAME
+        @Operation(summary = "Search roles by name with cursor pagination",
+                        description = "Same search as /filter, paginated with `next`/`prev` cursors.")
+        @ApiResponses(value = {@ApiResponse(responseCode = "200",
+                        description = "Matching roles, possibly none",
+                        content = @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CursorPageDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+                                        content = @Content)})
+        ResponseEntity<CursorPageDTO<RoleResponseDTO>> scrollByName(
+                        @Parameter(description = "Text to search in role names", required = true,
+                                        example = "admin") String name,
+
+                        @Parameter(description = "Cursor of a previous response, omit for the first page") String cursor,
+
+                        @Parameter(description = "Number of roles per page, at most 100",
+                                        example = "10") int size,
+
+                        @Parameter(description = "id, key or name", example = "id") String sortBy,
+
+                        @Parameter(description = "Sorting direction: 'asc' or 'desc'",
+                                        example = "asc") String direction);
+
         // DELETE
         @Operation(summary = "Delete role by ID",
                         description = "Deletes a role identified by its unique numeric ID. Returns 204 No Content if deleted successfully, or 404 if the role does not exist.")
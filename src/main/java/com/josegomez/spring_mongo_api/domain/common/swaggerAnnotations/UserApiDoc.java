@@ -1,9 +1,15 @@
 package com.josegomez.spring_mongo_api.domain.common.swaggerAnnotations;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.josegomez.spring_mongo_api.domain.common.CountMode;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -88,8 +94,42 @@ public interface UserApiDoc {
 
       @Parameter(description = "Sort direction", example = "asc") String direction,
 
-      @Parameter(description = "If true, fetches all users ignoring pagination",
-          example = "false") boolean all);
+      @Parameter(description = "If true, fetches all users ignoring pagination. "
+          + "For large collections prefer /export", example = "false") boolean all,
+
+      @Parameter(description = "exact (default), estimated or none. The " + CountMode.HEADER
+          + " response header tells whether the total is exact", example = "exact") String total);
+
+  // EXPORT
+  @Operation(summary = "Export all users",
+      description = "Streams every user as newline delimited JSON, one user per line. "
+          + "Rows are written while they are read, memory does not grow with the number of users.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Users streamed",
+          content = @Content(mediaType = "application/x-ndjson",
+              schema = @Schema(implementation = UserResponseDTO.class)))})
+  ResponseEntity<StreamingResponseBody> export();
+
+  // SCROLL
+  @Operation(summary = "Get users with cursor pagination",
+      description = "Returns a page of users and the opaque `next`/`prev` cursors of the adjacent pages. "
+          + "Unlike `page`, the cost does not grow with the depth of the page. "
+          + "A cursor is only valid with the `sortBy` and `direction` it was created with.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+          content = @Content)})
+  ResponseEntity<CursorPageDTO<UserResponseDTO>> scroll(
+      @Parameter(description = "Cursor of a previous response, omit for the first page") String cursor,
+
+      @Parameter(description = "Items per page, at most 100", example = "10") int size,
+
+      @Parameter(description = "id, firstName, lastNamePaternal or lastNameMaternal",
+          example = "id") String sortBy,
+
+      @Parameter(description = "Sort direction", example = "asc") String direction);
 
   // GET BY ID
   @Operation(summary = "Get user by ID",
@@ -104,7 +144,7 @@ public interface UserApiDoc {
 
   // SEARCH BY NAME
   @Operation(summary = "Search users by name",
-      description = "Searches for users by name substring (case-insensitive). Supports pagination and sorting.")
+      description = "Searches for users whose first or last names contain every word given, ignoring case and accents. Supports pagination and sorting.")
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "Matching users found",
           content = @Content(mediaType = "application/json",
@@ -114,7 +154,7 @@ public interface UserApiDoc {
 
   // SEARCH BY NAME
   ResponseEntity<Page<UserResponseDTO>> searchByName(
-      @Parameter(description = "Name substring to search", example = "juan",
+      @Parameter(description = "Words of the name to search", example = "juan garcia",
           required = true) String name,
 
       @Parameter(description = "Page number", example = "0") int page,
@@ -123,6 +163,66 @@ public interface UserApiDoc {
 
       @Parameter(description = "Sort field", example = "name") String sortBy,
 
+      @Parameter(description = "Sort direction", example = "asc") String direction,
+
+      @Parameter(description = "exact (default), estimated (counts cached for a few seconds) or none",
+          example = "exact") String total);
+
+  // FULL TEXT SEARCH
+  @Operation(summary = "Full name search ranked by relevance",
+      description = "Searches the first and last names with Spanish stemming, ignoring case and accents. "
+          + "Users matching more words rank first. An empty page is returned when nothing matches.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Matching users, best first",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = UserResponseDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid total", content = @Content)})
+  ResponseEntity<Page<UserResponseDTO>> search(
+      @Parameter(description = "Words of the first or last names", example = "garcia marquez",
+          required = true) String q,
+
+      @Parameter(description = "Page number", example = "0") int page,
+
+      @Parameter(description = "Items per page", example = "10") int size,
+
+      @Parameter(description = "exact (default), estimated (counts cached for a few seconds) or none",
+          example = "exact") String total);
+
+  // SUGGEST
+  @Operation(summary = "Typeahead suggestions",
+      description = "Users whose names contain every word typed, ignoring case and accents; words of one or two "
+          + "letters match the start of a name. Served from memory, returns 503 with Retry-After while the "
+          + "index is first built.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Best matches first, possibly none",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = UserSuggestionDTO.class))),
+      @ApiResponse(responseCode = "503", description = "Index not built yet", content = @Content)})
+  ResponseEntity<List<UserSuggestionDTO>> suggest(
+      @Parameter(description = "Text typed so far", example = "gab gar", required = true) String q,
+
+      @Parameter(description = "Maximum number of suggestions, at most 50", example = "10") int limit);
+
+  // SCROLL BY NAME
+  @Operation(summary = "Search users by name with cursor pagination",
+      description = "Same search as /filter, paginated with `next`/`prev` cursors.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Matching users, possibly none",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+          content = @Content)})
+  ResponseEntity<CursorPageDTO<UserResponseDTO>> scrollByName(
+      @Parameter(description = "Words of the name to search", example = "juan garcia",
+          required = true) String name,
+
+      @Parameter(description = "Cursor of a previous response, omit for the first page") String cursor,
+
+      @Parameter(description = "Items per page, at most 100", example = "10") int size,
+
+      @Parameter(description = "id, firstName, lastNamePaternal or lastNameMaternal",
+          example = "id") String sortBy,
+
       @Parameter(description = "Sort direction", example = "asc") String direction);
 
   // DELETE
@@ -0,0 +1,23 @@
+package com.josegomez.spring_mongo_api.domain.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object with one page of a cursor paginated list. next and prev are opaque cursors
+ * to send back to get the adjacent pages, null when there is no such page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String next;
+    private String prev;
+}
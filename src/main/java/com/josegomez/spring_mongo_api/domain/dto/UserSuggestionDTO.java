@@ -0,0 +1,18 @@
+package com.josegomez.spring_mongo_api.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object with one typeahead suggestion: the id of the user and its full name
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSuggestionDTO {
+    private Long id;
+    private String name;
+}
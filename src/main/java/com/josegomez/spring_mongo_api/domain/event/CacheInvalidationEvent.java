@@ -0,0 +1,8 @@
+package com.josegomez.spring_mongo_api.domain.event;
+
+/**
+ * Event sent through the CacheInvalidationBus, delivered to the local listeners and to the other
+ * nodes.
+ */
+public sealed interface CacheInvalidationEvent permits UserChangedEvent, RoleCatalogChangedEvent {
+}
@@ -0,0 +1,8 @@
+package com.josegomez.spring_mongo_api.domain.event;
+
+/**
+ * Published locally when invalidation events may have been missed, every in-memory cache must be
+ * dropped.
+ */
+public record CacheResetEvent() {
+}
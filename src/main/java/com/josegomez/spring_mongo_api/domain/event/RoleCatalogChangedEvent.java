@@ -0,0 +1,8 @@
+package com.josegomez.spring_mongo_api.domain.event;
+
+/**
+ * Published after the roles were written, so every node reloads its RoleCatalog without waiting
+ * for the next refresh.
+ */
+public record RoleCatalogChangedEvent() implements CacheInvalidationEvent {
+}
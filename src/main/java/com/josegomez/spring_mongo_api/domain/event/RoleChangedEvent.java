@@ -0,0 +1,10 @@
+package com.josegomez.spring_mongo_api.domain.event;
+
+/**
+ * Published after a role is updated or deleted, so the in-memory views of the users holding it
+ * are dropped.
+ *
+ * @param roleId id of the changed role
+ */
+public record RoleChangedEvent(Long roleId) {
+}
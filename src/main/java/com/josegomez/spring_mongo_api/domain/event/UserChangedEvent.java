@@ -0,0 +1,10 @@
+package com.josegomez.spring_mongo_api.domain.event;
+
+/**
+ * Published after a user is updated, activated or deleted, so the in-memory views of that user
+ * are dropped.
+ *
+ * @param username username whose cached state is stale
+ */
+public record UserChangedEvent(String username) implements CacheInvalidationEvent {
+}
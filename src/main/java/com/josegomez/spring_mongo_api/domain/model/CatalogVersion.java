@@ -0,0 +1,27 @@
+package com.josegomez.spring_mongo_api.domain.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity annotated for MongoDB. Version of an in-memory catalog, increased on every write so the
+ * other nodes know they must reload it
+ */
+@Document(collection = "catalogVersion")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogVersion {
+
+    @Id
+    private String catalog;
+
+    private long version;
+
+}
@@ -0,0 +1,39 @@
+package com.josegomez.spring_mongo_api.domain.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Refresh token issued at login. Only the SHA-256 of the token is stored. Every rotation creates a
+ * new token of the same family and marks the previous one as used, expired documents are removed
+ * by the TTL index on expiresAt.
+ */
+@Document(collection = "refreshToken")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    private String tokenHash;
+
+    private String username;
+
+    // shared by all the tokens rotated from the same login
+    private String familyId;
+
+    private boolean used;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+}
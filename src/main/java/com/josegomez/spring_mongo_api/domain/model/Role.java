@@ -1,9 +1,13 @@
 package com.josegomez.spring_mongo_api.domain.model;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.josegomez.spring_mongo_api.domain.common.Searchable;
 import com.josegomez.spring_mongo_api.domain.common.SequenceIdentifiable;
 
 import jakarta.validation.constraints.NotBlank;
@@ -22,7 +26,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Role implements SequenceIdentifiable {
+public class Role implements SequenceIdentifiable, Searchable {
 
     @Id
     @Indexed(unique = true)
@@ -40,6 +44,20 @@ public class Role implements SequenceIdentifiable {
     @Pattern(regexp = "^[\\p{L}\\s\\-.'áéíóúÁÉÍÓÚñÑüÜ]+$", message = "Role name must not contain numbers or invalid characters")
     private String name;
 
+    // normalized name, rebuilt on save
+    private SearchFields search;
+
+    public Role(Long id, String key, String name) {
+        this.id = id;
+        this.key = key;
+        this.name = name;
+    }
+
+    @Override
+    public List<String> searchableNames() {
+        return Collections.singletonList(name);
+    }
+
     @Override
     public Long getId() {
         return id;
@@ -0,0 +1,31 @@
+package com.josegomez.spring_mongo_api.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Normalized copy of the names of a document, lower-cased and without accents, stored under
+ * "search" so name searches can use an index instead of a case-insensitive regex.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchFields {
+
+    // normalization rules the fields were built with, older documents are backfilled
+    private int version;
+
+    // all the names, separated by a space, e.g. "gabriel garcia marquez"
+    private String text;
+
+    // each word of the names, prefix searches walk their index
+    private List<String> terms;
+
+    // trigrams of each word, infix searches require all the trigrams of the input
+    private List<String> grams;
+}
@@ -1,11 +1,13 @@
 package com.josegomez.spring_mongo_api.domain.model;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.josegomez.spring_mongo_api.domain.common.Searchable;
 import com.josegomez.spring_mongo_api.domain.common.SequenceIdentifiable;
 
 import jakarta.validation.constraints.Email;
@@ -26,7 +28,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class User implements SequenceIdentifiable {
+public class User implements SequenceIdentifiable, Searchable {
 
     @Id
     @Indexed(unique = true)
@@ -66,6 +68,30 @@ public class User implements SequenceIdentifiable {
     @Email(message = "Invalid email format")
     private String email;
 
+    // increased whenever issued access tokens must stop being accepted (roles, activation)
+    private long tokenVersion;
+
+    // normalized names, rebuilt on save
+    private SearchFields search;
+
+    public User(Long id, String firstName, String lastNamePaternal, String lastNameMaternal,
+            List<Long> roles, String username, String password, boolean enabled, String email) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastNamePaternal = lastNamePaternal;
+        this.lastNameMaternal = lastNameMaternal;
+        this.roles = roles;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.email = email;
+    }
+
+    @Override
+    public List<String> searchableNames() {
+        return Arrays.asList(firstName, lastNamePaternal, lastNameMaternal);
+    }
+
     @Override
     public Long getId() {
         return id;
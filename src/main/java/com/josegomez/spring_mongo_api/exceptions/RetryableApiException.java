@@ -0,0 +1,19 @@
+package com.josegomez.spring_mongo_api.exceptions;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * ApiException for a temporary overload, the client may repeat the request after retryAfter.
+ */
+@Getter
+public class RetryableApiException extends ApiException {
+    private final Duration retryAfter;
+
+    public RetryableApiException(int status, String message, Duration retryAfter) {
+        super(status, message);
+        this.retryAfter = retryAfter;
+    }
+
+}
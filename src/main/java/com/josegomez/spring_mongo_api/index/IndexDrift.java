@@ -0,0 +1,134 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+
+import com.josegomez.spring_mongo_api.index.IndexStatus.State;
+
+/**
+ * Compares the indexes declared for a collection with the output of listIndexes and $indexStats.
+ */
+final class IndexDrift {
+
+    private static final String ID_INDEX = "_id_";
+
+    private IndexDrift() {
+    }
+
+    /**
+     * @param collection  collection compared
+     * @param required    indexes declared for the collection
+     * @param live        documents returned by listIndexes
+     * @param stats       documents returned by $indexStats, by index name
+     * @param now         current time
+     * @param unusedAfter how long an index must go without operations to be flagged as unused
+     * @return the declared indexes first, then the undeclared ones
+     */
+    static List<IndexStatus> compare(String collection, List<RequiredIndex> required,
+            List<Document> live, Map<String, Document> stats, Instant now, Duration unusedAfter) {
+        Map<String, Document> remaining = new LinkedHashMap<>();
+        live.forEach(index -> remaining.put(index.getString("name"), index));
+
+        List<IndexStatus> statuses = new ArrayList<>();
+        for (RequiredIndex index : required) {
+            Document built = remaining.remove(index.name());
+            if (built == null) {
+                statuses.add(new IndexStatus(collection, index.name(), State.MISSING, null, null,
+                        null, false));
+                continue;
+            }
+            List<String> differences = differences(index, built);
+            State state = differences.isEmpty() ? State.OK : State.CONFLICT;
+            statuses.add(withUsage(collection, built, state,
+                    differences.isEmpty() ? null : String.join(", ", differences), stats, now,
+                    unusedAfter));
+        }
+        for (Document built : remaining.values()) {
+            // every collection has it, MongoDB does not let it be dropped
+            State state = ID_INDEX.equals(built.getString("name")) ? State.OK : State.UNDECLARED;
+            statuses.add(withUsage(collection, built, state, null, stats, now, unusedAfter));
+        }
+        return statuses;
+    }
+
+    static List<String> differences(RequiredIndex index, Document built) {
+        List<String> differences = new ArrayList<>();
+        Document options = index.options();
+        if (isText(index.keys())) {
+            // the key of a text index is {_fts, _ftsx}, its fields are the keys of weights
+            Set<String> declared = index.keys().entrySet().stream()
+                    .filter(key -> "text".equals(key.getValue())).map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            Document weights = built.get("weights", new Document());
+            if (!declared.equals(weights.keySet())) {
+                differences.add("text fields " + weights.keySet() + " instead of " + declared);
+            }
+            compare(differences, "default_language", options.get("default_language"),
+                    built.get("default_language"));
+        } else if (!keys(index.keys()).equals(keys(built.get("key", new Document())))) {
+            differences.add("keys " + built.get("key", Document.class).toJson() + " instead of "
+                    + index.keys().toJson());
+        }
+        compare(differences, "unique", flag(options, "unique"), flag(built, "unique"));
+        compare(differences, "sparse", flag(options, "sparse"), flag(built, "sparse"));
+        compare(differences, "expireAfterSeconds", seconds(options), seconds(built));
+        return differences;
+    }
+
+    private static IndexStatus withUsage(String collection, Document built, State state,
+            String detail, Map<String, Document> stats, Instant now, Duration unusedAfter) {
+        String name = built.getString("name");
+        Document accesses = stats.getOrDefault(name, new Document()).get("accesses",
+                new Document());
+        Number ops = accesses.get("ops", Number.class);
+        Instant since = accesses.getDate("since") == null ? null
+                : accesses.getDate("since").toInstant();
+        boolean unused = ops != null && ops.longValue() == 0 && since != null
+                && since.isBefore(now.minus(unusedAfter)) && !enforcesSomething(built);
+        return new IndexStatus(collection, name, state, detail,
+                ops == null ? null : ops.longValue(), since, unused);
+    }
+
+    // unique and TTL indexes do their job without any query using them
+    private static boolean enforcesSomething(Document built) {
+        return ID_INDEX.equals(built.getString("name")) || flag(built, "unique")
+                || seconds(built) != null;
+    }
+
+    private static boolean isText(Document keys) {
+        return keys.values().stream().anyMatch("text"::equals);
+    }
+
+    // ordered, directions as ints, the server may return 1, 1L or 1.0
+    private static List<String> keys(Document keys) {
+        return keys.entrySet().stream()
+                .map(key -> key.getKey() + ":" + (key.getValue() instanceof Number number
+                        ? String.valueOf(number.intValue()) : key.getValue()))
+                .toList();
+    }
+
+    private static boolean flag(Document document, String option) {
+        return Boolean.TRUE.equals(document.get(option));
+    }
+
+    private static Long seconds(Document document) {
+        Object seconds = document.get("expireAfterSeconds");
+        return seconds instanceof Number number ? number.longValue() : null;
+    }
+
+    private static void compare(List<String> differences, String option, Object declared,
+            Object built) {
+        if (!Objects.equals(declared, built)) {
+            differences.add(option + " " + built + " instead of " + declared);
+        }
+    }
+}
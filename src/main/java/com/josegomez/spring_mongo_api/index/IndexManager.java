@@ -0,0 +1,107 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the indexes of the {@link IndexRegistry} and compares them with the live database.
+ * <p>
+ * Builds run on their own thread once the application is ready, so startup does not wait for
+ * them on a large collection. Since MongoDB 4.2 every build only locks the collection exclusively
+ * at its start and end, reads and writes go on meanwhile. Queries that need an index still being
+ * built fall back to a collection scan until it is ready.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexManager {
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexRegistry indexRegistry;
+    private final IndexProperties indexProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        if (!indexProperties.isBuildOnStartup()) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            ensureIndexes();
+            logDrift();
+        }, "index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Creates every declared index. Creating an index that exists with the same keys and options
+     * does nothing, a failed build is logged and the next index is built.
+     */
+    public void ensureIndexes() {
+        for (RequiredIndex index : indexRegistry.indexes()) {
+            long start = System.nanoTime();
+            try {
+                mongoTemplate.indexOps(index.collection()).createIndex(index.definition());
+                log.debug("Index {}.{} ready in {} ms", index.collection(), index.name(),
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (DataAccessException | MongoException e) {
+                log.error("Could not build index {}.{}: {}", index.collection(), index.name(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Live indexes of every collection of the registry compared with the declared ones, with
+     * their usage. Usage comes from $indexStats, so it is only that of the mongod this node is
+     * connected to, counted since it last started.
+     *
+     * @return declared indexes first, then the undeclared ones, per collection
+     */
+    public List<IndexStatus> report() {
+        Instant now = Instant.now();
+        List<IndexStatus> statuses = new ArrayList<>();
+        for (String collection : indexRegistry.collections()) {
+            List<Document> live = mongoTemplate.getCollection(collection).listIndexes()
+                    .into(new ArrayList<>());
+            Map<String, Document> stats = new HashMap<>();
+            mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))
+                    .forEach(stat -> stats.put(stat.getString("name"), stat));
+            statuses.addAll(IndexDrift.compare(collection, indexRegistry.indexes(collection), live,
+                    stats, now, indexProperties.getUnusedAfter()));
+        }
+        return statuses;
+    }
+
+    private void logDrift() {
+        try {
+            for (IndexStatus status : report()) {
+                if (status.isDrift()) {
+                    log.warn("Index {}.{} is {}{}", status.collection(), status.name(),
+                            status.state(), status.detail() == null ? "" : ": " + status.detail());
+                } else if (status.unused()) {
+                    log.info("Index {}.{} not used since {}", status.collection(), status.name(),
+                            status.since());
+                }
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.error("Could not compare the indexes with the database: {}", e.getMessage());
+        }
+    }
+}
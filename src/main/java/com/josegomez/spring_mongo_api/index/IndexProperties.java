@@ -0,0 +1,20 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "index")
+@Getter
+@Setter
+public class IndexProperties {
+    // build the declared indexes in the background once the application is ready
+    private boolean buildOnStartup = true;
+    // an index no operation used for this long, since its counters started, is flagged as unused
+    private Duration unusedAfter = Duration.ofDays(7);
+}
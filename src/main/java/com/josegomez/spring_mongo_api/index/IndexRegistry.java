@@ -0,0 +1,46 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+/**
+ * Every index the application needs, per collection. It is the single place indexes are declared:
+ * IndexManager builds them and reports the live ones that differ from it.
+ */
+public class IndexRegistry {
+
+    private final List<RequiredIndex> indexes = new ArrayList<>();
+
+    /**
+     * Declares an index.
+     *
+     * @param collection collection the index belongs to
+     * @param definition keys and options of the index
+     * @return this registry
+     */
+    public IndexRegistry add(String collection, IndexDefinition definition) {
+        indexes.add(new RequiredIndex(collection, definition));
+        return this;
+    }
+
+    public List<RequiredIndex> indexes() {
+        return List.copyOf(indexes);
+    }
+
+    /**
+     * @return collections with at least one declared index, in declaration order
+     */
+    public Set<String> collections() {
+        Set<String> collections = new LinkedHashSet<>();
+        indexes.forEach(index -> collections.add(index.collection()));
+        return collections;
+    }
+
+    public List<RequiredIndex> indexes(String collection) {
+        return indexes.stream().filter(index -> index.collection().equals(collection)).toList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.time.Instant;
+
+/**
+ * State of one index on the live database compared with the registry, and how much it is used.
+ *
+ * @param collection collection of the index
+ * @param name       name of the index
+ * @param state      how the live index compares with the declared one
+ * @param detail     what differs, null when nothing does
+ * @param ops        operations that used the index since the counters started, null if not built
+ * @param since      when the counters started, they reset when mongod restarts
+ * @param unused     not used by any operation for longer than index.unused-after
+ */
+public record IndexStatus(String collection, String name, State state, String detail, Long ops,
+        Instant since, boolean unused) {
+
+    public enum State {
+        // built with the declared keys and options
+        OK,
+        // declared but not built, yet or because the build failed
+        MISSING,
+        // built under the declared name with other keys or options
+        CONFLICT,
+        // built but not declared, e.g. left behind by an older version
+        UNDECLARED
+    }
+
+    public boolean isDrift() {
+        return state != State.OK;
+    }
+}
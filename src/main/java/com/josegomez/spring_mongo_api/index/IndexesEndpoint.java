@@ -0,0 +1,25 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/indexes, the drift and usage report of {@link IndexManager#report()}.
+ */
+@Component
+@Endpoint(id = "indexes")
+@RequiredArgsConstructor
+public class IndexesEndpoint {
+
+    private final IndexManager indexManager;
+
+    @ReadOperation
+    public List<IndexStatus> indexes() {
+        return indexManager.report();
+    }
+}
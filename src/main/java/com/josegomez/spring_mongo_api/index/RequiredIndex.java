@@ -0,0 +1,36 @@
+package com.josegomez.spring_mongo_api.index;
+
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+/**
+ * An index the application needs on a collection.
+ *
+ * @param collection collection the index belongs to
+ * @param definition keys and options of the index
+ */
+public record RequiredIndex(String collection, IndexDefinition definition) {
+
+    /**
+     * @return the explicit name of the index, or the one MongoDB generates from its keys
+     */
+    public String name() {
+        String name = definition.getIndexOptions().getString("name");
+        if (name != null) {
+            return name;
+        }
+        return definition.getIndexKeys().entrySet().stream()
+                .map(key -> key.getKey() + "_" + key.getValue())
+                .collect(Collectors.joining("_"));
+    }
+
+    Document keys() {
+        return definition.getIndexKeys();
+    }
+
+    Document options() {
+        return definition.getIndexOptions();
+    }
+}
@@ -0,0 +1,22 @@
+package com.josegomez.spring_mongo_api.listener;
+
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.common.Searchable;
+import com.josegomez.spring_mongo_api.search.SearchNormalizer;
+
+/**
+ * Rebuilds the normalized search fields of Searchable entities before every save, so they never
+ * fall behind the names they are built from.
+ */
+@Component
+public class SearchFieldsListener extends AbstractMongoEventListener<Searchable> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Searchable> event) {
+        Searchable source = event.getSource();
+        source.setSearch(SearchNormalizer.fields(source.searchableNames()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+/**
+ * Builds explain commands from monitored commands and reads the plans they return.
+ */
+final class ExplainPlans {
+
+    // commands explain accepts
+    static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct",
+            "update", "delete", "findAndModify");
+
+    // session and transaction fields, explain rejects them
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber", "autocommit",
+            "startTransaction", "readConcern", "writeConcern");
+
+    private ExplainPlans() {
+    }
+
+    /**
+     * @param command command as sent by the driver
+     * @return explain of the command, planning only, the command is not run
+     */
+    static Document explainCommand(BsonDocument command) {
+        BsonDocument explained = new BsonDocument();
+        // $db, $clusterTime, $readPreference and the like are added by the driver to every command
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !SESSION_FIELDS.contains(key)) {
+                explained.put(key, value);
+            }
+        });
+        return new Document("explain", explained).append("verbosity", "queryPlanner");
+    }
+
+    /**
+     * @param explain result of an explain command
+     * @return whether a winning plan scans the whole collection, rejected plans do not count
+     */
+    static boolean hasCollectionScan(Object explain) {
+        if (explain instanceof Document document) {
+            if ("COLLSCAN".equals(document.get("stage"))) {
+                return true;
+            }
+            return document.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals("rejectedPlans"))
+                    .anyMatch(entry -> hasCollectionScan(entry.getValue()));
+        }
+        if (explain instanceof List<?> list) {
+            return list.stream().anyMatch(ExplainPlans::hasCollectionScan);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/queries: GET lists the query shapes of {@link QueryMonitor}, POST /{id} explains one
+ * now, DELETE starts over.
+ */
+@Component
+@Endpoint(id = "queries")
+@ConditionalOnProperty(prefix = "monitoring.queries", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class QueriesEndpoint {
+
+    private final QueryMonitor queryMonitor;
+
+    @ReadOperation
+    public List<QueryReport> queries() {
+        return queryMonitor.report();
+    }
+
+    @WriteOperation
+    public QueryReport explain(@Selector String id) {
+        return queryMonitor.explain(id);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryMonitor.reset();
+    }
+}
@@ -0,0 +1,235 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listens to every command the driver sends and groups them by {@link QueryShape}. Each shape
+ * keeps a latency histogram, commands above monitoring.queries.slow-threshold are logged with
+ * their shape, never their values. A sample of each shape is explained on a background thread
+ * when it is first seen and again every monitoring.queries.explain-interval, plans scanning the
+ * whole collection are logged and counted.
+ * <p>
+ * Slow commands, collection scans and dropped shapes are exported as mongo.queries.* metrics
+ * tagged by command and collection; per shape figures are in {@link #report()}, a tag per shape
+ * would be too many series.
+ */
+@Component
+@ConditionalOnProperty(prefix = "monitoring.queries", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class QueryMonitor implements CommandListener {
+
+    // handshake, auth, cursor and session housekeeping, and the explains run by this monitor
+    private static final Set<String> IGNORED = Set.of("hello", "isMaster", "ismaster", "ping",
+            "buildInfo", "saslStart", "saslContinue", "getMore", "killCursors", "endSessions",
+            "explain");
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final QueryMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor explainer;
+    private final Counter dropped;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    // shape of each command between its start and its end, by request id
+    private final Map<Integer, ShapeStats> inFlight = new ConcurrentHashMap<>();
+
+    // the template depends on the client this listener is registered on, so it is looked up late
+    public QueryMonitor(ObjectProvider<MongoTemplate> mongoTemplate,
+            QueryMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getExplainQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "query-explainer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.dropped = Counter.builder("mongo.queries.dropped")
+                .description("Commands not tracked because monitoring.queries.max-shapes was reached")
+                .register(meterRegistry);
+        Gauge.builder("mongo.queries.shapes", shapes, Map::size)
+                .description("Query shapes tracked").register(meterRegistry);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (IGNORED.contains(event.getCommandName())) {
+            return;
+        }
+        QueryShape shape = QueryShape.of(event.getCommandName(), event.getCommand());
+        ShapeStats stats = shapes.get(shape.id());
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                dropped.increment();
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape.id(), id -> new ShapeStats(shape));
+        }
+        inFlight.put(event.getRequestId(), stats);
+
+        if (ExplainPlans.EXPLAINABLE.contains(shape.command())
+                && stats.claimExplain(properties.getExplainInterval().toMillis())) {
+            // the command document is only valid during this call
+            stats.sample(event.getCommand().clone(), event.getDatabaseName());
+            ShapeStats sampled = stats;
+            explainer.execute(() -> explain(sampled));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * @return every tracked shape, the ones the database spent the most time on first
+     */
+    public List<QueryReport> report() {
+        return shapes.values().stream().map(ShapeStats::report)
+                .sorted(Comparator.comparingDouble(QueryReport::totalMs).reversed()).toList();
+    }
+
+    /**
+     * Explains the last sample of a shape now.
+     *
+     * @param id id of the shape
+     * @return the shape with its new plan, null if there is no such shape
+     */
+    public QueryReport explain(String id) {
+        ShapeStats stats = shapes.get(id);
+        if (stats == null) {
+            return null;
+        }
+        explain(stats);
+        return stats.report();
+    }
+
+    /**
+     * Forgets every shape, e.g. to measure from a known point.
+     */
+    public void reset() {
+        shapes.clear();
+    }
+
+    private void finished(int requestId, long nanos) {
+        ShapeStats stats = inFlight.remove(requestId);
+        if (stats == null) {
+            return;
+        }
+        stats.histogram.record(nanos);
+        if (nanos >= properties.getSlowThreshold().toNanos()) {
+            stats.slow.increment();
+            QueryShape shape = stats.shape;
+            Counter.builder("mongo.queries.slow")
+                    .description("Commands slower than monitoring.queries.slow-threshold")
+                    .tag("command", shape.command()).tag("collection", shape.collection())
+                    .register(meterRegistry).increment();
+            log.warn("Slow MongoDB command took {} ms, shape {}: {}", nanos / 1_000_000,
+                    shape.id(), shape.shape());
+        }
+    }
+
+    private void explain(ShapeStats stats) {
+        BsonDocument sample = stats.sample;
+        if (sample == null) {
+            return;
+        }
+        QueryShape shape = stats.shape;
+        try {
+            Document plan = mongoTemplate.getObject().getMongoDatabaseFactory()
+                    .getMongoDatabase(stats.database).runCommand(ExplainPlans.explainCommand(sample));
+            boolean collectionScan = ExplainPlans.hasCollectionScan(plan);
+            stats.explained(collectionScan);
+            if (collectionScan) {
+                Counter.builder("mongo.queries.collscan")
+                        .description("Explained query shapes whose plan scans the whole collection")
+                        .tag("command", shape.command()).tag("collection", shape.collection())
+                        .register(meterRegistry).increment();
+                log.warn("MongoDB command scans the whole collection, shape {}: {}", shape.id(),
+                        shape.shape());
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.debug("Could not explain shape {}: {}", shape.id(), e.getMessage());
+        }
+    }
+
+    static final class ShapeStats {
+        private final QueryShape shape;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong nextExplainAt = new AtomicLong();
+        private volatile BsonDocument sample;
+        private volatile String database;
+        private volatile Boolean collectionScan;
+        private volatile Instant explainedAt;
+
+        ShapeStats(QueryShape shape) {
+            this.shape = shape;
+        }
+
+        // true for a single caller once the interval has passed
+        boolean claimExplain(long intervalMillis) {
+            long now = System.currentTimeMillis();
+            long next = nextExplainAt.get();
+            return now >= next && nextExplainAt.compareAndSet(next, now + intervalMillis);
+        }
+
+        void sample(BsonDocument command, String database) {
+            this.database = database;
+            this.sample = command;
+        }
+
+        void explained(boolean collectionScan) {
+            this.collectionScan = collectionScan;
+            this.explainedAt = Instant.now();
+        }
+
+        QueryReport report() {
+            return new QueryReport(shape.id(), shape.command(), shape.collection(), shape.shape(),
+                    histogram.count(), millis(histogram.totalNanos()),
+                    millis(histogram.percentileNanos(0.5)), millis(histogram.percentileNanos(0.95)),
+                    millis(histogram.percentileNanos(0.99)), millis(histogram.maxNanos()),
+                    slow.sum(), collectionScan, explainedAt);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
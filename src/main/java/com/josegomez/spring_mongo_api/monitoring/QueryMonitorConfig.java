@@ -0,0 +1,18 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "monitoring.queries", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class QueryMonitorConfig {
+
+    // registered next to the listener of the mongodb.driver.commands metrics, not instead of it
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryMonitorCustomizer(QueryMonitor queryMonitor) {
+        return settings -> settings.addCommandListener(queryMonitor);
+    }
+}
@@ -0,0 +1,26 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "monitoring.queries")
+@Getter
+@Setter
+public class QueryMonitorProperties {
+    // listen to every command sent to MongoDB
+    private boolean enabled = true;
+    // commands taking longer are logged with their shape and counted
+    private Duration slowThreshold = Duration.ofMillis(100);
+    // shapes tracked at most, commands of further shapes are only counted as dropped
+    private int maxShapes = 500;
+    // each shape is explained when first seen and again once this long has passed
+    private Duration explainInterval = Duration.ofMinutes(10);
+    // explains waiting for the explain thread, further ones are skipped until the next sample
+    private int explainQueueCapacity = 16;
+}
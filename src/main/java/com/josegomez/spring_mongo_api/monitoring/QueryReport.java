@@ -0,0 +1,26 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.time.Instant;
+
+/**
+ * Latency and plan of one query shape since the monitor started or was reset. Percentiles are
+ * upper bounds, see {@link LatencyHistogram}.
+ *
+ * @param id             id of the shape, to explain it on demand
+ * @param command        command name
+ * @param collection     collection the command runs on
+ * @param shape          command without literals
+ * @param count          commands of this shape
+ * @param totalMs        time spent in them
+ * @param p50Ms          median latency
+ * @param p95Ms          95th percentile latency
+ * @param p99Ms          99th percentile latency
+ * @param maxMs          slowest command
+ * @param slow           commands above monitoring.queries.slow-threshold
+ * @param collectionScan whether the last explain chose a collection scan, null if never explained
+ * @param explainedAt    when it was last explained
+ */
+public record QueryReport(String id, String command, String collection, String shape, long count,
+        double totalMs, double p50Ms, double p95Ms, double p99Ms, double maxMs, long slow,
+        Boolean collectionScan, Instant explainedAt) {
+}
@@ -0,0 +1,96 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+/**
+ * A command with its literals replaced by "?": the same query run with other values has the same
+ * shape. Field names, operators, sort directions and projections are kept, so shapes that can use
+ * different indexes stay apart; arrays of values, as in $in, collapse to a single "?" whatever
+ * their length.
+ *
+ * @param id         short stable id of the shape
+ * @param command    command name, e.g. find or aggregate
+ * @param collection collection the command runs on
+ * @param shape      command without literals, as JSON
+ */
+public record QueryShape(String id, String command, String collection, String shape) {
+
+    private static final BsonString LITERAL = new BsonString("?");
+
+    // parts of each command that tell which query it runs, the rest is driver and session noise
+    private static final Map<String, List<String>> QUERY_FIELDS = Map.of(
+            "find", List.of("filter", "sort", "projection", "hint"),
+            "aggregate", List.of("pipeline", "hint"),
+            "count", List.of("query", "hint"),
+            "distinct", List.of("key", "query"),
+            "update", List.of("updates"),
+            "delete", List.of("deletes"),
+            "findAndModify", List.of("query", "sort", "fields", "update", "remove", "upsert", "new"));
+
+    // options of the command that select indexes or plans, kept as they are
+    private static final Set<String> KEPT_OPTIONS = Set.of("sort", "projection", "fields", "hint",
+            "key", "remove", "upsert", "new");
+    // the same inside update and delete statements
+    private static final Set<String> KEPT_STATEMENT_OPTIONS = Set.of("multi", "upsert", "limit");
+    // pipeline stages kept as they are, field names cannot start with $ so only stages match
+    private static final Set<String> KEPT_STAGES = Set.of("$sort", "$project");
+
+    /**
+     * @param commandName name of the command
+     * @param command     command document sent to the server
+     * @return shape of the command
+     */
+    public static QueryShape of(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName);
+        String collection = target != null && target.isString() ? target.asString().getValue() : "";
+
+        BsonDocument shape = new BsonDocument();
+        for (String field : QUERY_FIELDS.getOrDefault(commandName, List.of())) {
+            BsonValue value = command.get(field);
+            if (value == null) {
+                continue;
+            }
+            if (field.equals("updates") || field.equals("deletes")) {
+                // a batch of statements from the same code path, the first one stands for all
+                shape.put(field, value.asArray().isEmpty() ? new BsonDocument()
+                        : statement(value.asArray().get(0).asDocument()));
+            } else {
+                shape.put(field, KEPT_OPTIONS.contains(field) ? value : strip(value));
+            }
+        }
+        String text = commandName + " " + collection + " " + shape.toJson();
+        return new QueryShape(String.format("%08x", text.hashCode()), commandName, collection,
+                text);
+    }
+
+    private static BsonDocument statement(BsonDocument statement) {
+        BsonDocument stripped = new BsonDocument();
+        statement.forEach((key, value) -> stripped.put(key,
+                KEPT_STATEMENT_OPTIONS.contains(key) ? value : strip(value)));
+        return stripped;
+    }
+
+    private static BsonValue strip(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument stripped = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> stripped.put(key,
+                    KEPT_STAGES.contains(key) ? nested : strip(nested)));
+            return stripped;
+        }
+        if (value.isArray() && !value.asArray().isEmpty()
+                && value.asArray().stream().allMatch(BsonValue::isDocument)) {
+            // $and, $or, pipelines: every element is part of the shape
+            BsonArray stripped = new BsonArray();
+            value.asArray().forEach(element -> stripped.add(strip(element)));
+            return stripped;
+        }
+        return LITERAL;
+    }
+}
@@ -0,0 +1,142 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts and dumps a single JFR recording at a time, bounded in time and size, so it can be done
+ * on a production node. The custom events of this package are enabled by any settings file.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final FlightRecordingProperties properties;
+
+    // guarded by this
+    private Recording recording;
+    private Path lastDump;
+
+    public FlightRecorderService(FlightRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param duration how long to record, default monitoring.jfr.default-duration, at most
+     *                 monitoring.jfr.max-duration
+     * @param settings default or profile, default monitoring.jfr.settings
+     * @return the new recording
+     * @throws ApiException 409 if a recording is still running, 400 for unknown settings, 503 if
+     *                      this JVM has no flight recorder
+     */
+    public synchronized RecordingStatus start(Duration duration, String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Flight Recorder is not available in this JVM");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ApiException(HttpStatus.CONFLICT.value(),
+                    "Recording " + recording.getId() + " is still running");
+        }
+        String settingsName = settings == null ? properties.getSettings() : settings;
+        if (!SETTINGS.contains(settingsName)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST.value(),
+                    "Settings must be one of " + SETTINGS);
+        }
+        Duration requested = duration == null ? properties.getDefaultDuration() : duration;
+        if (requested.isNegative() || requested.isZero()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST.value(), "Duration must be positive");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not read JFR settings " + settingsName, e);
+        }
+        close();
+        recording = new Recording(configuration);
+        recording.setName("spring-mongo-api");
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.setDuration(requested.compareTo(properties.getMaxDuration()) > 0
+                ? properties.getMaxDuration() : requested);
+        recording.start();
+        log.info("Flight recording {} started for {} with {} settings", recording.getId(),
+                recording.getDuration(), settingsName);
+        return RecordingStatus.of(recording);
+    }
+
+    /**
+     * @return the current or last recording, null if there is none
+     */
+    public synchronized RecordingStatus status() {
+        return recording == null ? null : RecordingStatus.of(recording);
+    }
+
+    /**
+     * Writes what the recording holds so far to a file, the recording keeps running. The file
+     * of the previous dump is deleted.
+     *
+     * @param id id of the recording
+     * @return the .jfr file
+     * @throws ApiException 404 if it is not the current or last recording
+     */
+    public synchronized Path dump(long id) {
+        if (recording == null || recording.getId() != id
+                || recording.getState() == RecordingState.CLOSED) {
+            throw new ApiException(HttpStatus.NOT_FOUND.value(), "Recording " + id + " not found");
+        }
+        try {
+            Path file = Files.createTempFile("spring-mongo-api-" + id + "-", ".jfr");
+            recording.dump(file);
+            deleteLastDump();
+            lastDump = file;
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not dump recording " + id, e);
+        }
+    }
+
+    /**
+     * Stops the recording and deletes its data and the last dump.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteLastDump();
+    }
+
+    private void deleteLastDump() {
+        if (lastDump == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(lastDump);
+        } catch (IOException e) {
+            log.warn("Could not delete the flight recording dump {}: {}", lastDump, e.getMessage());
+        }
+        lastDump = null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import java.time.Duration;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/flightrecording: GET shows the recording, POST starts one, e.g. {"duration": "2m"},
+ * GET /{id} downloads what it holds so far as a .jfr file, DELETE stops it and drops its data.
+ */
+@Component
+@Endpoint(id = "flightrecording")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private static final String JFR_MEDIA_TYPE = "application/octet-stream";
+
+    private final FlightRecorderService flightRecorderService;
+
+    @ReadOperation
+    public RecordingStatus status() {
+        return flightRecorderService.status();
+    }
+
+    @WriteOperation
+    public RecordingStatus start(@Nullable Duration duration, @Nullable String settings) {
+        return flightRecorderService.start(duration, settings);
+    }
+
+    @ReadOperation(produces = JFR_MEDIA_TYPE)
+    public Resource dump(@Selector long id) {
+        return new FileSystemResource(flightRecorderService.dump(id));
+    }
+
+    @DeleteOperation
+    public void close() {
+        flightRecorderService.close();
+    }
+}
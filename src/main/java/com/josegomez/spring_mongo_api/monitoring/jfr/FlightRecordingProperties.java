@@ -0,0 +1,25 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "monitoring.jfr")
+@Getter
+@Setter
+public class FlightRecordingProperties {
+    // used when the request gives no duration
+    private Duration defaultDuration = Duration.ofMinutes(1);
+    // longer requests are cut to this, the recording stops by itself once it is reached
+    private Duration maxDuration = Duration.ofMinutes(10);
+    // oldest chunks are dropped beyond this size on disk
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+    // JFR settings file of the JDK: default (about 1% overhead) or profile (about 2%)
+    private String settings = "default";
+}
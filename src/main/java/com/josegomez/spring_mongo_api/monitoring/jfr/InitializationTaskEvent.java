@@ -0,0 +1,19 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A startup task of DataInitializer, including the ones that find they already ran.
+ */
+@Name("com.josegomez.spring_mongo_api.InitializationTask")
+@Label("Initialization Task")
+@Category({ "Spring Mongo API", "Startup" })
+@Description("Data initialization task run at startup")
+public class InitializationTaskEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+}
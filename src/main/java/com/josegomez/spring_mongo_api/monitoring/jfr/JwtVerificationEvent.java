@@ -0,0 +1,25 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verification of the bearer token of a request, answered by the verified token cache or by a
+ * parse. One per authenticated request, so without stack trace.
+ */
+@Name("com.josegomez.spring_mongo_api.JwtVerification")
+@Label("JWT Verification")
+@Category({ "Spring Mongo API", "Security" })
+@Description("Bearer token verified by JwtAuthenticationFilter")
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Token Type")
+    public String tokenType;
+}
@@ -0,0 +1,37 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A mongoTemplate.aggregate call of a service, with the page it was asked for.
+ */
+@Name("com.josegomez.spring_mongo_api.MongoAggregate")
+@Label("MongoDB Aggregate")
+@Category({ "Spring Mongo API", "MongoDB" })
+@Description("Aggregation run by a service")
+public class MongoAggregateEvent extends jdk.jfr.Event {
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Operation")
+    @Description("Service method that ran the aggregation")
+    public String operation;
+
+    @Label("Offset")
+    public long offset;
+
+    @Label("Page Size")
+    public int pageSize;
+
+    @Label("Result Count")
+    @Description("Documents returned")
+    public int resultCount;
+
+    @Label("Total")
+    @Description("Documents matched by the whole query")
+    public long total;
+}
@@ -0,0 +1,24 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A BCrypt hash computed to store a password or to check one. Hundreds of milliseconds each by
+ * design, see password.hashing.target-latency.
+ */
+@Name("com.josegomez.spring_mongo_api.PasswordHash")
+@Label("Password Hash")
+@Category({ "Spring Mongo API", "Security" })
+@Description("Password encoded or matched against a stored hash")
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("encode or matches")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
@@ -0,0 +1,22 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import jdk.jfr.Recording;
+
+/**
+ * @param id        id of the recording, to dump it
+ * @param state     NEW, RUNNING, STOPPED or CLOSED
+ * @param startTime when it started
+ * @param duration  how long it records
+ * @param size      bytes recorded so far
+ */
+public record RecordingStatus(long id, String state, Instant startTime, Duration duration,
+        long size) {
+
+    static RecordingStatus of(Recording recording) {
+        return new RecordingStatus(recording.getId(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+}
@@ -0,0 +1,26 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A range of ids reserved with one $inc on the collectionSequence document of a collection.
+ */
+@Name("com.josegomez.spring_mongo_api.SequenceAllocation")
+@Label("Sequence Allocation")
+@Category({ "Spring Mongo API", "MongoDB" })
+@Description("Ids reserved by SequenceGeneratorService")
+public class SequenceAllocationEvent extends jdk.jfr.Event {
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Size")
+    @Description("Ids reserved, 1 in SINGLE mode, the block size in BLOCK mode")
+    public int size;
+
+    @Label("Last Id")
+    public long lastId;
+}
@@ -0,0 +1,28 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A user with its roles loaded for Spring Security, from the cache or from the database.
+ */
+@Name("com.josegomez.spring_mongo_api.UserDetailsLoad")
+@Label("User Details Load")
+@Category({ "Spring Mongo API", "Security" })
+@Description("loadUserByUsername, cached or read from MongoDB")
+@StackTrace(false)
+public class UserDetailsLoadEvent extends jdk.jfr.Event {
+
+    @Label("Cached")
+    @Description("Served from the user details cache")
+    public boolean cached;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Roles")
+    public int roles;
+}
@@ -0,0 +1,20 @@
+package com.josegomez.spring_mongo_api.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.josegomez.spring_mongo_api.domain.model.RefreshToken;
+
+// Define a Spring Data MongoDB repository interface for managing `RefreshToken` entities.
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+
+    /**
+     * Revokes every token rotated from the same login.
+     *
+     * @param familyId family shared by the tokens
+     * @return number of deleted tokens
+     */
+    long deleteByFamilyId(String familyId);
+
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 import com.josegomez.spring_mongo_api.domain.model.User;
 
@@ -52,6 +54,25 @@ public interface UserRepository extends MongoRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Loads only the fields needed to decide if the access tokens of a user are still accepted.
+     *
+     * @param username username of the token subject
+     * @return user with just id, enabled and tokenVersion populated
+     */
+    @Query(value = "{ 'username': ?0 }", fields = "{ 'enabled': 1, 'tokenVersion': 1 }")
+    Optional<User> findTokenStateByUsername(String username);
+
+    /**
+     * Invalidates the access tokens of every user holding the role.
+     *
+     * @param roleId id of the role whose users must log in again
+     * @return number of updated users
+     */
+    @Query("{ 'roles': ?0 }")
+    @Update("{ '$inc': { 'tokenVersion': 1 } }")
+    long incrementTokenVersionByRole(Long roleId);
+
     Optional<User> findByEmail(String email);
 
 }
@@ -0,0 +1,376 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Trigram index over normalized names, held in memory. Every entry gets a slot, and the posting
+ * list of a trigram is the ascending int array of the slots whose words contain it. Words are
+ * padded with two start markers, so their first one and two letters are trigrams too and short
+ * inputs match the start of a word, as in {@link SearchCriteria}.
+ * <p>
+ * Removed entries leave a hole in the postings until the index is rebuilt. Not thread safe,
+ * {@link UserSuggestIndex} guards it.
+ */
+final class NgramIndex {
+
+    private static final char START = '\u0001';
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] labels = new String[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int size;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    private final LongIntMap slots = new LongIntMap();
+    // trigram to its index in postings
+    private final LongIntMap gramIndex = new LongIntMap();
+    private IntList[] postings = new IntList[INITIAL_CAPACITY];
+    private int gramCount;
+
+    /**
+     * Adds an entry, replacing the previous one with the same id.
+     *
+     * @param id    id returned by the searches
+     * @param label text returned by the searches
+     * @param names names to index, null ones are skipped
+     */
+    void put(long id, String label, List<String> names) {
+        remove(id);
+        List<String> terms = names.stream().filter(Objects::nonNull)
+                .flatMap(name -> SearchNormalizer.terms(name).stream()).distinct().toList();
+        add(id, label, String.join(" ", terms));
+    }
+
+    /**
+     * @param id id of the entry
+     * @return whether there was an entry to remove
+     */
+    boolean remove(long id) {
+        int slot = slots.remove(id);
+        if (slot < 0) {
+            return false;
+        }
+        removed.set(slot);
+        removedCount++;
+        labels[slot] = null;
+        texts[slot] = null;
+        return true;
+    }
+
+    /**
+     * Entries whose words contain every word of the input, the one and two letter words of the
+     * input at the start of a word. Entries matching more words at their start rank first, then
+     * the oldest ones. The scan stops as soon as limit entries match every word at its start.
+     *
+     * @param input text typed by the client
+     * @param limit maximum number of matches
+     * @return the best matches, best first
+     */
+    List<Match> search(String input, int limit) {
+        List<String> terms = SearchNormalizer.terms(input);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (long gram : queryGrams(term)) {
+                int posting = gramIndex.get(gram);
+                if (posting < 0) {
+                    return List.of();
+                }
+                lists.add(postings[posting]);
+            }
+        }
+        // the shortest list drives, the others are only probed, so the scan can stop early
+        lists.sort(Comparator.comparingInt(IntList::size));
+        IntList driver = lists.get(0);
+        int[] cursors = new int[lists.size()];
+
+        // short terms are matched by their start-of-word trigram, only longer ones need a check
+        List<String> longTerms = terms.stream()
+                .filter(term -> term.length() >= SearchNormalizer.GRAM_LENGTH).toList();
+        List<String> wordStarts = longTerms.stream().map(term -> " " + term).toList();
+        int perfectScore = terms.size();
+
+        // slots ascend, so among equal scores the first ones found are kept
+        Comparator<Scored> worstFirst = Comparator.comparingInt(Scored::score)
+                .thenComparing(Comparator.comparingInt(Scored::slot).reversed());
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, worstFirst);
+        candidates: for (int i = 0; i < driver.size; i++) {
+            int slot = driver.values[i];
+            for (int l = 1; l < lists.size(); l++) {
+                IntList list = lists.get(l);
+                cursors[l] = list.seek(cursors[l], slot);
+                if (cursors[l] == list.size) {
+                    break candidates;
+                }
+                if (list.values[cursors[l]] != slot) {
+                    continue candidates;
+                }
+            }
+            if (removed.get(slot)) {
+                continue;
+            }
+            String text = texts[slot];
+            int score = terms.size() - longTerms.size();
+            boolean matches = true;
+            for (int t = 0; t < longTerms.size(); t++) {
+                String term = longTerms.get(t);
+                // the trigrams of a term may come from different words, check the term itself
+                int at = text.indexOf(term);
+                if (at < 0) {
+                    matches = false;
+                    break;
+                }
+                if (at == 0 || text.charAt(at - 1) == ' ' || text.contains(wordStarts.get(t))) {
+                    score++;
+                }
+            }
+            // an equal score found later never displaces one found before
+            if (matches && (best.size() < limit || score > best.peek().score())) {
+                best.add(new Scored(slot, ids[slot], score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (best.size() == limit && best.peek().score() == perfectScore) {
+                    break;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Scored scored = best.poll();
+            matches.add(new Match(scored.id(), labels[scored.slot()]));
+        }
+        return matches.reversed();
+    }
+
+    boolean needsCompaction() {
+        return removedCount > INITIAL_CAPACITY && removedCount > size / 4;
+    }
+
+    int entries() {
+        return size - removedCount;
+    }
+
+    int grams() {
+        return gramCount;
+    }
+
+    /**
+     * Rough heap footprint: arrays, strings, the two maps and the posting lists.
+     *
+     * @return estimated bytes
+     */
+    long estimatedBytes() {
+        long bytes = 8L * ids.length + 4L * labels.length + 4L * texts.length
+                + removed.size() / 8 + slots.estimatedBytes() + gramIndex.estimatedBytes()
+                + 4L * postings.length;
+        for (int slot = 0; slot < size; slot++) {
+            if (!removed.get(slot)) {
+                // String object, its byte array header, and one byte per Latin-1 char
+                bytes += 40L + labels[slot].length() + 40L + texts[slot].length();
+            }
+        }
+        for (int i = 0; i < gramCount; i++) {
+            // IntList object, int array
+            bytes += 24L + 16L + 4L * postings[i].values.length;
+        }
+        return bytes;
+    }
+
+    private void add(long id, String label, String text) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        labels[slot] = label;
+        texts[slot] = text;
+        slots.put(id, slot);
+
+        // slots only grow, so appending keeps every posting list sorted
+        for (long gram : documentGrams(text)) {
+            int posting = gramIndex.get(gram);
+            if (posting < 0) {
+                if (gramCount == postings.length) {
+                    postings = Arrays.copyOf(postings, gramCount * 2);
+                }
+                posting = gramCount++;
+                postings[posting] = new IntList();
+                gramIndex.put(gram, posting);
+            }
+            postings[posting].add(slot);
+        }
+    }
+
+    // distinct trigrams of the padded words of a normalized text
+    private static long[] documentGrams(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+        String[] words = text.split(" ");
+        long[] grams = new long[text.length() + 2 * words.length];
+        int count = 0;
+        for (String word : words) {
+            String padded = "" + START + START + word;
+            for (int i = 0; i + SearchNormalizer.GRAM_LENGTH <= padded.length(); i++) {
+                grams[count++] = gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+            }
+        }
+        return Arrays.stream(grams, 0, count).sorted().distinct().toArray();
+    }
+
+    private static long[] queryGrams(String term) {
+        if (term.length() == 1) {
+            return new long[] { gram(START, START, term.charAt(0)) };
+        }
+        if (term.length() == 2) {
+            return new long[] { gram(START, term.charAt(0), term.charAt(1)) };
+        }
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char first, char second, char third) {
+        return (long) first << 32 | (long) second << 16 | third;
+    }
+
+    record Match(long id, String label) {
+    }
+
+    private record Scored(int slot, long id, int score) {
+    }
+
+    // growable int array, the posting list of one trigram
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        // position of the first value >= target from 'from' on, galloping then binary search
+        int seek(int from, int target) {
+            int bound = 1;
+            while (from + bound < size && values[from + bound] < target) {
+                bound <<= 1;
+            }
+            int found = Arrays.binarySearch(values, from, Math.min(from + bound + 1, size), target);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    // id to slot and trigram to posting, open addressing over primitive arrays, no boxing per entry
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = emptyKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        void put(long key, int value) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int i = index(key, keys.length);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        // value of the key, -1 when absent
+        int get(long key) {
+            int i = index(key, keys.length);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & (keys.length - 1);
+            }
+            return values[i];
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int gap = index(key, keys.length);
+            while (keys[gap] != key) {
+                if (keys[gap] == EMPTY) {
+                    return -1;
+                }
+                gap = (gap + 1) & mask;
+            }
+            int value = values[gap];
+            // shift back the entries of the same probe run so lookups still find them
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = index(keys[j], keys.length);
+                boolean movable = gap < j ? home <= gap || home > j : home <= gap && home > j;
+                if (movable) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return value;
+        }
+
+        long estimatedBytes() {
+            return 12L * keys.length;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = emptyKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int index(long key, int capacity) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ hash >>> 32) & (capacity - 1);
+        }
+    }
+}
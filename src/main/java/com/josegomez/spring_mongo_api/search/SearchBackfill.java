@@ -0,0 +1,62 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.common.Searchable;
+import com.josegomez.spring_mongo_api.domain.common.SequenceIdentifiable;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the search fields of the documents saved before they existed, or with an older
+ * {@link SearchNormalizer#VERSION}. Documents are read from a cursor and updated with unordered
+ * bulk writes, one round trip per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchBackfill {
+
+    static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @param type searchable entity whose collection is backfilled
+     * @return number of documents updated
+     */
+    public <T extends Searchable & SequenceIdentifiable> long backfill(Class<T> type) {
+        // also matches documents without search fields at all
+        Query stale = new Query(Criteria.where("search.version").ne(SearchNormalizer.VERSION));
+        stale.cursorBatchSize(BATCH_SIZE);
+
+        long updated = 0;
+        try (Stream<T> documents = mongoTemplate.stream(stale, type)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (T document : (Iterable<T>) documents::iterator) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                }
+                bulk.updateOne(new Query(Criteria.where("_id").is(document.getId())),
+                        new Update().set("search",
+                                SearchNormalizer.fields(document.searchableNames())));
+                if (++pending == BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                updated += bulk.execute().getModifiedCount();
+            }
+        }
+        return updated;
+    }
+}
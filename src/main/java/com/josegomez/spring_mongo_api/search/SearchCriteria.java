@@ -0,0 +1,46 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Builds the filter of a name search over the fields of {@link SearchNormalizer}. Every word of
+ * the input must match a word of the document:
+ * <ul>
+ * <li>words shorter than a trigram match the start of a word, an anchored regex on search.terms
+ * that is answered by the index bounds of its prefix</li>
+ * <li>longer words match anywhere in a word: search.grams must hold all their trigrams, which
+ * uses the index, and the few candidates left are confirmed on search.text</li>
+ * </ul>
+ * The input only reaches a regex normalized and quoted, so it is matched literally and cannot
+ * backtrack.
+ */
+public final class SearchCriteria {
+
+    private SearchCriteria() {
+    }
+
+    /**
+     * @param input text typed by the client
+     * @return the filter, empty (everything) when the input has no letters nor digits
+     */
+    public static Criteria matching(String input) {
+        List<String> terms = SearchNormalizer.terms(input);
+        if (terms.isEmpty()) {
+            return new Criteria();
+        }
+        List<Criteria> perTerm = terms.stream().map(SearchCriteria::matchingTerm).toList();
+        return perTerm.size() == 1 ? perTerm.get(0) : new Criteria().andOperator(perTerm);
+    }
+
+    private static Criteria matchingTerm(String term) {
+        String literal = Pattern.quote(term);
+        if (term.length() < SearchNormalizer.GRAM_LENGTH) {
+            return Criteria.where("search.terms").regex("^" + literal);
+        }
+        return Criteria.where("search.grams").all(SearchNormalizer.grams(term))
+                .and("search.text").regex(literal);
+    }
+}
@@ -0,0 +1,68 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.josegomez.spring_mongo_api.domain.model.SearchFields;
+
+/**
+ * Normalization shared by the stored search fields and the search input: lower case, accents and
+ * other combining marks removed, anything but letters and digits treated as a word separator.
+ * "Cortázar-Descotte" becomes the words "cortazar" and "descotte".
+ */
+public final class SearchNormalizer {
+
+    // bump when the rules change, documents built with an older version are backfilled
+    public static final int VERSION = 1;
+    public static final int GRAM_LENGTH = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchNormalizer() {
+    }
+
+    /**
+     * @param text any text, may be null
+     * @return the distinct words of the text once normalized, in order
+     */
+    public static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded)).filter(term -> !term.isEmpty())
+                .distinct().toList();
+    }
+
+    /**
+     * @param term normalized word
+     * @return its trigrams, none for words shorter than a trigram
+     */
+    public static List<String> grams(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM_LENGTH));
+        }
+        return List.copyOf(grams);
+    }
+
+    /**
+     * @param names names of a document, null ones are skipped
+     * @return the search fields to store with the document
+     */
+    public static SearchFields fields(List<String> names) {
+        List<String> terms = names.stream().filter(Objects::nonNull)
+                .flatMap(name -> terms(name).stream()).distinct().toList();
+        List<String> grams = terms.stream().flatMap(term -> grams(term).stream()).distinct()
+                .toList();
+        return new SearchFields(VERSION, String.join(" ", terms), terms, grams);
+    }
+}
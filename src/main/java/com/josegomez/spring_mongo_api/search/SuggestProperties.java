@@ -0,0 +1,22 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.suggest")
+@Getter
+@Setter
+public class SuggestProperties {
+    // upper bound of the limit a client may ask for
+    private int maxLimit = 50;
+    // full rebuild from the database, also how long writes of other nodes may be missing
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+    // documents per cursor batch of the rebuild scan
+    private int batchSize = 1_000;
+}
@@ -0,0 +1,222 @@
+package com.josegomez.spring_mongo_api.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.exceptions.RetryableApiException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead over the names of all users, answered from memory without a database round trip.
+ * The index is built from a streamed scan in the background once the application is ready and
+ * again every search.suggest.rebuild-interval, and kept current in between by the writes of
+ * UserService. When removals leave too many holes a rebuild is queued in the background too, the
+ * writes only swap indexes. Size, estimated memory and rebuild time are exported as
+ * search.suggest.* metrics.
+ */
+@Component
+@Slf4j
+public class UserSuggestIndex {
+
+    private static final String[] NAME_FIELDS =
+            { "firstName", "lastNamePaternal", "lastNameMaternal" };
+
+    private final MongoTemplate mongoTemplate;
+    private final SuggestProperties suggestProperties;
+    private final Timer rebuildTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // null until the first build completes
+    private NgramIndex index;
+    // writes received while a rebuild scans the collection, replayed on the new index
+    private List<Consumer<NgramIndex>> pendingWrites;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggest-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // a background rebuild is queued or running
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    public UserSuggestIndex(MongoTemplate mongoTemplate, SuggestProperties suggestProperties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.suggestProperties = suggestProperties;
+        this.rebuildTimer = Timer.builder("search.suggest.rebuild")
+                .description("Time to rebuild the user suggest index from the database")
+                .register(meterRegistry);
+        Gauge.builder("search.suggest.entries", this, stat(NgramIndex::entries))
+                .description("Users in the suggest index").register(meterRegistry);
+        Gauge.builder("search.suggest.grams", this, stat(NgramIndex::grams))
+                .description("Distinct trigrams in the suggest index").register(meterRegistry);
+        Gauge.builder("search.suggest.memory", this, stat(NgramIndex::estimatedBytes))
+                .description("Estimated heap used by the suggest index").baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a rebuild on the builder thread, unless one is already queued or running. Until the
+     * first build completes suggestions answer 503 with a Retry-After.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            builder.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            rebuildQueued.set(false);
+        }
+    }
+
+    /**
+     * Builds a new index from a scan of the names of every user, then swaps it in. Searches keep
+     * using the previous index meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.rebuild-interval:30m}",
+            initialDelayString = "${search.suggest.rebuild-interval:30m}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NgramIndex fresh = new NgramIndex();
+        Query names = new Query();
+        names.fields().include(NAME_FIELDS);
+        names.cursorBatchSize(suggestProperties.getBatchSize());
+        try (Stream<User> users = mongoTemplate.stream(names, User.class)) {
+            users.forEach(user -> put(fresh, user));
+        } catch (RuntimeException e) {
+            log.warn("User suggest index rebuild failed, keeping the previous one", e);
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(write -> write.accept(fresh));
+            pendingWrites = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("User suggest index built: {} users, {} trigrams, ~{} KB in {} ms",
+                fresh.entries(), fresh.grams(), fresh.estimatedBytes() / 1024,
+                Duration.ofNanos(elapsed).toMillis());
+    }
+
+    public void put(User user) {
+        write(target -> put(target, user));
+    }
+
+    public void remove(Long id) {
+        write(target -> target.remove(id));
+    }
+
+    /**
+     * @param text  what the user typed so far
+     * @param limit maximum number of suggestions, capped by search.suggest.max-limit
+     * @return the best matching users, best first
+     */
+    public List<UserSuggestionDTO> suggest(String text, int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, suggestProperties.getMaxLimit()));
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                throw new RetryableApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Suggestions are not available yet", Duration.ofSeconds(5));
+            }
+            return index.search(text, cappedLimit).stream()
+                    .map(match -> new UserSuggestionDTO(match.id(), match.label())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<NgramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+                if (index.needsCompaction()) {
+                    // a fresh build has no holes, searches skip them until it is swapped in
+                    rebuildInBackground();
+                }
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private static void put(NgramIndex index, User user) {
+        List<String> names = user.searchableNames();
+        String label = names.stream().filter(Objects::nonNull).collect(Collectors.joining(" "));
+        index.put(user.getId(), label, names);
+    }
+
+    private ToDoubleFunction<UserSuggestIndex> stat(ToDoubleFunction<NgramIndex> metric) {
+        return self -> {
+            lock.readLock().lock();
+            try {
+                return index == null ? 0 : metric.applyAsDouble(index);
+            } finally {
+                lock.readLock().unlock();
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the highest bcrypt cost whose hash time on this machine fits in the target latency. Each
+ * cost step doubles the work, so the search stops at the first cost over the target.
+ */
+@Slf4j
+class BcryptStrengthCalibrator {
+
+    private static final int SAMPLES = 2;
+
+    private final IntToLongFunction hashNanos;
+
+    BcryptStrengthCalibrator() {
+        this(BcryptStrengthCalibrator::measure);
+    }
+
+    BcryptStrengthCalibrator(IntToLongFunction hashNanos) {
+        this.hashNanos = hashNanos;
+    }
+
+    int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        long targetNanos = targetLatency.toNanos();
+        int strength = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long nanos = hashNanos.applyAsLong(cost);
+            log.debug("bcrypt cost {} takes {} ms", cost, nanos / 1_000_000);
+            if (nanos > targetNanos) {
+                break;
+            }
+            strength = cost;
+        }
+        return strength;
+    }
+
+    // fastest of a few hashes, the first one also warms up the code
+    private static long measure(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
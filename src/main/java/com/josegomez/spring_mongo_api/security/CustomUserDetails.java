@@ -41,6 +41,14 @@ public class CustomUserDetails implements UserDetails {
         return user.getUsername();
     }
 
+    public long getTokenVersion() {
+        return user.getTokenVersion();
+    }
+
+    public boolean hasRole(Long roleId) {
+        return user.getRoles() != null && user.getRoles().contains(roleId);
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
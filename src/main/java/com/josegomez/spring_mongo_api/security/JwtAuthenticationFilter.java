@@ -1,7 +1,10 @@
 package com.josegomez.spring_mongo_api.security;
 
 import java.io.IOException;
+import java.util.List;
+
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,8 +12,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.josegomez.spring_mongo_api.service.JwtService;
+import com.josegomez.spring_mongo_api.monitoring.jfr.JwtVerificationEvent;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,8 +25,10 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -37,20 +43,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username = jwtService.extractUsername(token);
+        VerifiedToken verifiedToken;
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            // signature and expiration are checked by this single parse, or were already checked
+            // for a previous request with the same token
+            verifiedToken = verifiedTokenCache.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+            // invalid or expired tokens leave the request unauthenticated
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.valid = true;
+            event.tokenType = verifiedToken.type();
+            event.commit();
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        String username = verifiedToken.subject();
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (username != null && verifiedToken.isAccessToken()
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (!jwtService.isTokenExpired(token)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            UsernamePasswordAuthenticationToken authToken;
+            if (jwtProperties.isStatelessAuthorization()) {
+                if (tokenRevocationCache.isRevoked(verifiedToken)) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                List<SimpleGrantedAuthority> authorities = verifiedToken.roles().stream()
+                        .map(SimpleGrantedAuthority::new).toList();
+                authToken = new UsernamePasswordAuthenticationToken(username, null, authorities);
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (userDetails instanceof CustomUserDetails customUserDetails
+                        && customUserDetails.getTokenVersion() != verifiedToken.tokenVersion()) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
                         userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -1,5 +1,7 @@
 package com.josegomez.spring_mongo_api.security;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,5 +17,28 @@ public class JwtProperties {
     private long expiration;
     private String issuer;
     private long activateExpiration;
+    private long refreshExpiration;
+    // build authorities from the token claims instead of loading the user on every request
+    private boolean statelessAuthorization;
+    private Revocation revocation = new Revocation();
+    private TokenCache tokenCache = new TokenCache();
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        // cached token versions are reloaded in background after this time
+        private Duration refreshAfter = Duration.ofSeconds(15);
+        // upper bound for a revoked token to keep being accepted
+        private Duration maxStaleness = Duration.ofSeconds(30);
+        private long maximumSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class TokenCache {
+        private boolean enabled = true;
+        // caps memory under a flood of distinct tokens
+        private long maximumSize = 10_000;
+    }
 
 }
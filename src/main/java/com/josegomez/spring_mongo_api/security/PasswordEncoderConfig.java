@@ -0,0 +1,44 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.josegomez.spring_mongo_api.monitoring.jfr.JfrPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Declared apart from SecurityConfig so PasswordVerifier can use the encoder without a cycle.
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+
+    /**
+     * New hashes are stored as {bcrypt} with the calibrated cost. Hashes stored before the prefix
+     * existed are still matched as plain bcrypt, and upgradeEncoding reports them, and any
+     * {bcrypt} hash with a lower cost, so they are rehashed on the next login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+        PasswordProperties.Hashing hashing = passwordProperties.getHashing();
+        int strength = hashing.getStrength() > 0
+                ? hashing.getStrength()
+                : new BcryptStrengthCalibrator().calibrate(hashing.getTargetLatency(),
+                        hashing.getMinStrength(), hashing.getMaxStrength());
+        log.info("Password hashing with bcrypt cost {}", strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new JfrPasswordEncoder(encoder);
+    }
+
+}
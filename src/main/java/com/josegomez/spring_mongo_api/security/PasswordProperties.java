@@ -0,0 +1,41 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "password")
+@Getter
+@Setter
+public class PasswordProperties {
+    private Verifier verifier = new Verifier();
+    private Hashing hashing = new Hashing();
+
+    @Getter
+    @Setter
+    public static class Verifier {
+        // threads hashing passwords, half of the cores by default so hashing cannot take them all
+        private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // logins waiting for a thread, beyond this they are rejected with 429
+        private int queueCapacity = 32;
+        // maximum time a login waits for its verification, then it fails with 503
+        private Duration timeout = Duration.ofSeconds(2);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Hashing {
+        // fixed bcrypt cost, 0 calibrates it at startup against target-latency
+        private int strength;
+        private Duration targetLatency = Duration.ofMillis(250);
+        private int minStrength = 10;
+        private int maxStrength = 16;
+    }
+
+}
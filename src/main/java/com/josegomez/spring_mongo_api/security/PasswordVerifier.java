@@ -0,0 +1,118 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.exceptions.RetryableApiException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password verification on a dedicated pool with a bounded queue. A login storm can only hold
+ * pool-size + queue-capacity request threads, the rest are rejected at once with 429 and the
+ * remaining request threads keep serving the other endpoints.
+ */
+@Component
+@Slf4j
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordProperties.Verifier properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder, PasswordProperties passwordProperties,
+            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = passwordProperties.getVerifier();
+        this.executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued, executor.active, executor.pool.size... tagged name=auth.password
+        new ExecutorServiceMetrics(executor, "auth.password", Tags.empty()).bindTo(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("Time spent hashing a password to verify it")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").tag("reason", "saturated")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("auth.password.rejected").tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the raw password against the stored hash on the verification pool.
+     *
+     * @param rawPassword     password sent by the client
+     * @param encodedPassword stored hash
+     * @return whether the password matches
+     * @throws RetryableApiException 429 if the queue is full, 503 if the verification timed out
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> verifyTimer.record(
+                    () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RetryableApiException(HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Too many login attempts, try again later", properties.getRetryAfter());
+        }
+
+        try {
+            return result.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // a queued verification is dropped, one already hashing finishes in background
+            result.cancel(false);
+            timedOut.increment();
+            throw unavailable();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private RetryableApiException unavailable() {
+        return new RetryableApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Login temporarily unavailable, try again later", properties.getRetryAfter());
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-verifier-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
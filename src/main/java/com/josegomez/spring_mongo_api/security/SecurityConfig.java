@@ -11,8 +11,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.core.Authentication;
@@ -20,6 +18,7 @@ import org.springframework.security.core.AuthenticationException;
 
 import com.josegomez.spring_mongo_api.service.CustomUserDetailsService;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -29,6 +28,7 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordVerifier passwordVerifier;
 
     @Bean
     public AuthenticationManager authenticationManager() {
@@ -41,7 +41,8 @@ public class SecurityConfig {
 
                         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                        if (!passwordEncoder().matches(password, userDetails.getPassword())) {
+                        // hashed on the bounded verification pool, not inline on the request thread
+                        if (!passwordVerifier.matches(password, userDetails.getPassword())) {
                             throw new BadCredentialsException("Invalid user/password");
                         }
 
@@ -61,10 +62,15 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/login", "/auth/activate-account").permitAll()
+                        // streamed exports finish on an async dispatch, already authorized on the
+                        // request that started them
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/auth/login", "/auth/refresh", "/auth/activate-account").permitAll()
                         .requestMatchers("/auth/generate-token").hasRole("ADMIN")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
                         .requestMatchers("/api/roles/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(sess -> sess
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -74,9 +80,4 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
 }
@@ -0,0 +1,62 @@
+package com.josegomez.spring_mongo_api.security;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.josegomez.spring_mongo_api.domain.event.CacheResetEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
+import com.josegomez.spring_mongo_api.repository.UserRepository;
+
+/**
+ * Small in-memory view of the enabled flag and token version of recently seen users, used to
+ * reject access tokens in stateless authorization. Entries are reloaded in background after
+ * jwt.revocation.refresh-after and never served older than jwt.revocation.max-staleness, so a
+ * disabled user or a user whose roles changed is rejected on every node within that window.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private static final TokenState UNKNOWN_USER = new TokenState(false, -1);
+
+    private final LoadingCache<String, TokenState> states;
+
+    public TokenRevocationCache(UserRepository userRepository, JwtProperties jwtProperties) {
+        JwtProperties.Revocation revocation = jwtProperties.getRevocation();
+        this.states = Caffeine.newBuilder()
+                .maximumSize(revocation.getMaximumSize())
+                .refreshAfterWrite(revocation.getRefreshAfter())
+                .expireAfterWrite(revocation.getMaxStaleness())
+                .build(username -> userRepository.findTokenStateByUsername(username)
+                        .map(user -> new TokenState(user.isEnabled(), user.getTokenVersion()))
+                        .orElse(UNKNOWN_USER));
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        TokenState state = states.get(token.subject());
+        return !state.enabled() || state.tokenVersion() != token.tokenVersion();
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.username() != null) {
+            states.invalidate(event.username());
+        }
+    }
+
+    @EventListener(CacheResetEvent.class)
+    public void onCacheReset() {
+        states.invalidateAll();
+    }
+
+    // a role key change bumps the token version of all its users
+    @EventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        states.invalidateAll();
+    }
+
+    private record TokenState(boolean enabled, long tokenVersion) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-details")
+@Getter
+@Setter
+public class UserDetailsProperties {
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        // safety net for changes made outside the services, which publish no event
+        private Duration ttl = Duration.ofMinutes(10);
+        private long maximumSize = 10_000;
+    }
+
+}
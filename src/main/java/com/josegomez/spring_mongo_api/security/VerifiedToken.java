@@ -0,0 +1,23 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the claims of a JWT whose signature and expiration were already verified.
+ */
+public record VerifiedToken(String subject, String type, List<String> roles, long tokenVersion,
+        Instant expiresAt) {
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    public boolean isActivationToken() {
+        return "activation".equals(type);
+    }
+}
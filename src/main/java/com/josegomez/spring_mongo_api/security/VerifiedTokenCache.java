@@ -0,0 +1,76 @@
+package com.josegomez.spring_mongo_api.security;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.josegomez.spring_mongo_api.service.JwtService;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of already verified access tokens, keyed by the SHA-256 of the token so the token
+ * itself is not kept in memory. Each entry expires at the exp claim of its token, only tokens that
+ * passed verification are stored. Hits, misses, evictions and size are published as the
+ * jwt.verified cache metrics.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtService jwtService, JwtProperties jwtProperties,
+            MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.enabled = jwtProperties.getTokenCache().isEnabled();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getTokenCache().getMaximumSize())
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified");
+    }
+
+    /**
+     * Same contract as JwtService.verify, skipping signature checking and claim decoding for
+     * tokens verified before.
+     *
+     * @param token compact JWT
+     * @return the claims of the token
+     * @throws JwtException if the token is malformed, tampered or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtService.verify(token);
+        }
+        return tokens.get(TokenDigest.sha256(token), key -> jwtService.verify(token));
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
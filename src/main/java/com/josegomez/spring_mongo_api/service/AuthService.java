@@ -8,11 +8,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
 import com.josegomez.spring_mongo_api.domain.dto.ActivateAccountRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.AuthRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.AuthResponseDTO;
 import com.josegomez.spring_mongo_api.domain.dto.GenerateTokenRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.GenerateTokenResponsetDTO;
+import com.josegomez.spring_mongo_api.domain.dto.RefreshTokenRequestDTO;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
 import com.josegomez.spring_mongo_api.domain.model.User;
 import com.josegomez.spring_mongo_api.exceptions.ApiException;
 import com.josegomez.spring_mongo_api.repository.UserRepository;
@@ -30,15 +33,37 @@ public class AuthService {
     private final CustomUserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordRehashService passwordRehashService;
 
     public AuthResponseDTO login(AuthRequestDTO request) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        // the user was already loaded, with its roles, to check the password
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String token = jwtService.generateAccessToken(userDetails);
+        passwordRehashService.rehashIfNeeded(userDetails.getUsername(), request.getPassword(),
+                userDetails.getPassword());
 
-        return new AuthResponseDTO(token);
+        return new AuthResponseDTO(token, refreshTokenService.issue(userDetails.getUsername()));
+    }
+
+    /**
+     * Issues a new access token and rotates the refresh token, without checking the password
+     * again. Disabled or deleted users are rejected when their details are loaded.
+     *
+     * @param request refresh token received at login or at the previous refresh
+     * @return new access and refresh tokens
+     */
+    public AuthResponseDTO refresh(RefreshTokenRequestDTO request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(rotation.username());
+        String token = jwtService.generateAccessToken(userDetails);
+
+        return new AuthResponseDTO(token, rotation.refreshToken());
     }
 
     public void activateAccount(ActivateAccountRequestDTO request) {
@@ -57,12 +82,16 @@ public class AuthService {
             throw new ApiException(HttpStatus.BAD_REQUEST.value(), "User already activated");
         }
 
+        String previousUsername = user.getUsername();
         user.setEnabled(true);
         user.setEmail(request.getEmail());
         user.setUsername(request.getUsername());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
         userRepository.save(user);
+        cacheInvalidationBus.publish(new UserChangedEvent(previousUsername));
+        cacheInvalidationBus.publish(new UserChangedEvent(user.getUsername()));
 
     }
 
@@ -0,0 +1,70 @@
+package com.josegomez.spring_mongo_api.service;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.josegomez.spring_mongo_api.config.CountProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Totals for the paginated endpoints. The size of a whole collection is taken from its metadata
+ * (estimatedDocumentCount) and reused for count.estimate-ttl, so listing pages does not add a
+ * count round trip per request. Counts of a filter are cached for count.filtered-ttl, keyed by
+ * the collection and the filter as canonical JSON.
+ */
+@Service
+public class CountService {
+
+    private static final JsonWriterSettings CANONICAL_JSON =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final MongoTemplate mongoTemplate;
+    private final LoadingCache<String, Long> estimatedCounts;
+    private final Cache<String, Long> filteredCounts;
+
+    public CountService(MongoTemplate mongoTemplate, CountProperties countProperties,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.estimatedCounts = Caffeine.newBuilder()
+                .expireAfterWrite(countProperties.getEstimateTtl())
+                .build(mongoTemplate::estimatedCount);
+        this.filteredCounts = Caffeine.newBuilder()
+                .expireAfterWrite(countProperties.getFilteredTtl())
+                .maximumSize(countProperties.getFilteredMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, filteredCounts, "count.filtered");
+    }
+
+    public long estimatedCount(String collection) {
+        return estimatedCounts.get(collection);
+    }
+
+    /**
+     * Count of the documents matching a filter, reused while it is younger than
+     * count.filtered-ttl. Only the criteria of the query matter, not its page or sort.
+     *
+     * @param filter     query whose criteria are counted
+     * @param collection collection to count in
+     * @return the number of matching documents, possibly slightly stale
+     */
+    public long count(Query filter, String collection) {
+        Document criteria = filter.getQueryObject();
+        if (criteria.isEmpty()) {
+            return estimatedCount(collection);
+        }
+        String key = collection + ':' + criteria.toJson(CANONICAL_JSON);
+        return filteredCounts.get(key,
+                ignored -> mongoTemplate.count(new BasicQuery(criteria), collection));
+    }
+}
@@ -2,32 +2,86 @@ package com.josegomez.spring_mongo_api.service;
 
 import java.util.List;
 
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.josegomez.spring_mongo_api.domain.event.CacheResetEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
 import com.josegomez.spring_mongo_api.domain.model.Role;
 import com.josegomez.spring_mongo_api.domain.model.User;
 import com.josegomez.spring_mongo_api.exceptions.ApiException;
-import com.josegomez.spring_mongo_api.repository.RoleRepository;
+import com.josegomez.spring_mongo_api.monitoring.jfr.UserDetailsLoadEvent;
 import com.josegomez.spring_mongo_api.repository.UserRepository;
 import com.josegomez.spring_mongo_api.security.CustomUserDetails;
+import com.josegomez.spring_mongo_api.security.UserDetailsProperties;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Loads users with their roles, keeping them in a bounded cache. Entries are dropped on the
+ * UserChangedEvent and RoleChangedEvent published when users or roles change, and expire after
+ * user-details.cache.ttl. Unknown and disabled users are never cached. With
+ * user-details.cache.enabled=false there is no cache, every load reads Mongo.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
+    // null when the cache is disabled
+    private final Cache<String, CustomUserDetails> userDetails;
 
     public CustomUserDetailsService(UserRepository userRepository,
-            RoleRepository roleRepository) {
+            RoleCatalog roleCatalog, UserDetailsProperties userDetailsProperties,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
+
+        UserDetailsProperties.Cache properties = userDetailsProperties.getCache();
+        if (!properties.isEnabled()) {
+            this.userDetails = null;
+            return;
+        }
+        this.userDetails = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        // cache.gets by result, cache.evictions and cache.load.duration tagged cache=user.details
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetails, "user.details");
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        event.begin();
+        // quiet lookup, the cache.gets hit and miss counts stay those of the get below, and only
+        // while a recording wants the event
+        boolean cached = event.isEnabled() && userDetails != null
+                && userDetails.policy().getIfPresentQuietly(username) != null;
+        CustomUserDetails details = null;
+        try {
+            details = userDetails == null ? load(username) : userDetails.get(username, this::load);
+            return details;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.cached = cached;
+                event.found = details != null;
+                event.roles = details == null ? 0 : details.getAuthorities().size();
+                event.commit();
+            }
+        }
+    }
+
+    private CustomUserDetails load(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User/password not found"));
 
@@ -35,8 +89,31 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new ApiException(409, "User disabled");
         }
 
-        List<Role> roles = roleRepository.findByIdIn(user.getRoles());
+        List<Role> roles = roleCatalog.findByIds(user.getRoles());
         return new CustomUserDetails(user, roles);
     }
 
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (userDetails != null && event.username() != null) {
+            userDetails.invalidate(event.username());
+        }
+    }
+
+    @EventListener(CacheResetEvent.class)
+    public void onCacheReset() {
+        if (userDetails != null) {
+            userDetails.invalidateAll();
+        }
+    }
+
+    // only the users holding the role are dropped
+    @EventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        if (userDetails == null) {
+            return;
+        }
+        userDetails.asMap().values().removeIf(details -> details.hasRole(event.roleId()));
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.josegomez.spring_mongo_api.service;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+
+/**
+ * Generates the Long ids of SequenceIdentifiable entities. SequenceIdAssigner picks the
+ * implementation configured for each collection.
+ */
+public interface IdGenerationStrategy {
+
+    SequenceProperties.Strategy getType();
+
+    long nextId(String collection);
+
+    /**
+     * Generates count ids at once. Implementations backed by I/O should override it to use a
+     * single round trip.
+     */
+    default long[] nextIds(String collection, int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId(collection);
+        }
+        return ids;
+    }
+
+}
@@ -3,6 +3,9 @@ package com.josegomez.spring_mongo_api.service;
 import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import javax.crypto.SecretKey;
 
 import org.springframework.http.HttpStatus;
@@ -12,70 +15,119 @@ import org.springframework.stereotype.Service;
 
 import com.josegomez.spring_mongo_api.domain.model.User;
 import com.josegomez.spring_mongo_api.exceptions.ApiException;
+import com.josegomez.spring_mongo_api.security.CustomUserDetails;
 import com.josegomez.spring_mongo_api.security.JwtProperties;
+import com.josegomez.spring_mongo_api.security.VerifiedToken;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
     private final JwtProperties jwtProperties;
 
+    // built once, both are immutable and thread safe
+    private final SecretKey signKey;
+    private final JwtParser parser;
+
+    // registered once, a lookup per token would cost about as much as the timing itself
+    private final Timer signAccess;
+    private final Timer signActivation;
+    private final Timer parseValid;
+    private final Timer parseInvalid;
+
+    public JwtService(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.signKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signKey).build();
+        this.signAccess = signTimer("access", meterRegistry);
+        this.signActivation = signTimer("activation", meterRegistry);
+        this.parseValid = parseTimer("valid", meterRegistry);
+        this.parseInvalid = parseTimer("invalid", meterRegistry);
+    }
+
     public String generateAccessToken(UserDetails userDetails) {
         Instant now = Instant.now();
         Instant expiration = now.plusMillis(jwtProperties.getExpiration());
 
-        return Jwts.builder()
+        long tokenVersion = userDetails instanceof CustomUserDetails customUserDetails
+                ? customUserDetails.getTokenVersion()
+                : 0;
+
+        return signAccess.record(() -> Jwts.builder()
                 .subject(userDetails.getUsername())
                 .claim("type", "access")
                 .claim("roles", userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority).toList())
+                .claim("ver", tokenVersion)
                 .issuedAt(Date.from(now))
                 .issuer(jwtProperties.getIssuer())
                 .expiration(Date.from(expiration))
-                .signWith(getSignKey())
-                .compact();
+                .signWith(signKey)
+                .compact());
     }
 
     public String generateActivationToken(User user) {
         Instant now = Instant.now();
         Instant expiration = now.plusMillis(jwtProperties.getActivateExpiration());
 
-        return Jwts.builder()
+        return signActivation.record(() -> Jwts.builder()
                 .subject(user.getId().toString())
                 .claim("type", "activation")
                 .issuedAt(Date.from(now))
                 .issuer(jwtProperties.getIssuer())
                 .expiration(Date.from(expiration))
-                .signWith(getSignKey())
-                .compact();
+                .signWith(signKey)
+                .compact());
+    }
+
+    /**
+     * Parses the token and verifies its signature and expiration in a single pass.
+     *
+     * @param token compact JWT
+     * @return the claims of the token
+     * @throws JwtException if the token is malformed, tampered or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        List<?> roles = claims.get("roles", List.class);
+        Number tokenVersion = claims.get("ver", Number.class);
+        return new VerifiedToken(claims.getSubject(), claims.get("type", String.class),
+                roles == null ? null : roles.stream().map(String::valueOf).toList(),
+                tokenVersion == null ? 0 : tokenVersion.longValue(),
+                claims.getExpiration().toInstant());
     }
 
     public Long getIdFromActivationToken(String token) {
-        String tokenType = getTokenType(token);
-        if (!"activation".equals(tokenType)) {
+        VerifiedToken verifiedToken = verify(token);
+        if (!verifiedToken.isActivationToken()) {
             throw new ApiException(HttpStatus.BAD_REQUEST.value(), "Invalid token");
         }
 
-        Claims claims = extractAllClaims(token);
-
         try {
-            return Long.parseLong(claims.getSubject());
+            return Long.parseLong(verifiedToken.subject());
         } catch (NumberFormatException e) {
             throw new ApiException(HttpStatus.BAD_REQUEST.value(), "Invalid token subject");
         }
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername())
-                && !isTokenExpired(token) && getTokenType(token).equals("access");
+        try {
+            VerifiedToken verifiedToken = verify(token);
+            return verifiedToken.subject().equals(userDetails.getUsername())
+                    && verifiedToken.isAccessToken();
+        } catch (ExpiredJwtException e) {
+            return false;
+        }
     }
 
     public String extractUsername(String token) {
@@ -92,22 +144,26 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            parseValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            parseInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
-    private SecretKey getSignKey() {
-        byte[] keyBytes = jwtProperties.getSecret()
-                .getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Timer signTimer(String type, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.sign").description("Time to build and sign a token")
+                .tag("type", type).register(meterRegistry);
     }
 
-    private String getTokenType(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("type", String.class);
+    // invalid includes expired, tampered and malformed tokens
+    private static Timer parseTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.parse").description("Time to parse a token and verify it")
+                .tag("result", result).register(meterRegistry);
     }
 
 }
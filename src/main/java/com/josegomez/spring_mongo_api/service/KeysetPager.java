@@ -0,0 +1,79 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.domain.common.PageCursor;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyset pagination: each page continues after the sort key and _id of the previous one, so the
+ * query walks the (sortField, _id) index from that point instead of skipping the previous pages,
+ * and the cost of a page does not depend on its depth.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    static final int MAX_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @param filter    criteria of the list, may be empty
+     * @param type      entity to read
+     * @param sortField entity property to sort by, "id" sorts only by _id
+     * @param direction sort direction
+     * @param cursor    cursor of a previous response, null for the first page
+     * @param size      page size, at most 100
+     * @param mapper    maps each entity to its response
+     * @return the page with the cursors of the adjacent pages
+     */
+    public <T, R> CursorPageDTO<R> scroll(Criteria filter, Class<T> type, String sortField,
+            Sort.Direction direction, String cursor, int size, Function<T, R> mapper) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SIZE));
+        String sort = sortField + "," + direction;
+        KeysetScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : PageCursor.decode(cursor, sort).position();
+
+        // _id makes the key unique, rows with the same sort value are not skipped nor repeated
+        Sort keysetSort = "id".equals(sortField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        Query query = new Query(filter).with(keysetSort).with(position).limit(pageSize);
+        Window<T> window = mongoTemplate.scroll(query, type);
+
+        List<R> content = window.getContent().stream().map(mapper).toList();
+        if (window.isEmpty()) {
+            return new CursorPageDTO<>(content, pageSize, null, null);
+        }
+
+        boolean backward = position.scrollsBackward();
+        boolean firstPage = position.isInitial();
+        // hasNext is about the direction we scrolled in, the other side is where we came from
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrev = backward ? window.hasNext() : !firstPage;
+
+        String next = hasNext
+                ? new PageCursor(sort, ((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                        .forward()).encode()
+                : null;
+        String prev = hasPrev
+                ? new PageCursor(sort, ((KeysetScrollPosition) window.positionAt(0)).backward())
+                        .encode()
+                : null;
+        return new CursorPageDTO<>(content, pageSize, next, prev);
+    }
+}
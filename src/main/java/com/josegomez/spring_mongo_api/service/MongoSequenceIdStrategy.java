@@ -0,0 +1,40 @@
+package com.josegomez.spring_mongo_api.service;
+
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consecutive ids backed by the collectionSequence collection.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoSequenceIdStrategy implements IdGenerationStrategy {
+
+    private final SequenceGeneratorService sequenceGenerator;
+
+    @Override
+    public SequenceProperties.Strategy getType() {
+        return SequenceProperties.Strategy.SEQUENCE;
+    }
+
+    @Override
+    public long nextId(String collection) {
+        return sequenceGenerator.next(collection);
+    }
+
+    @Override
+    public long[] nextIds(String collection, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        long first = sequenceGenerator.reserve(collection, count) - count + 1;
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + i;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,79 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.josegomez.spring_mongo_api.config.ExportProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a whole collection as newline delimited JSON straight from a Mongo cursor. Only one
+ * cursor batch and one buffer of output are held at a time, so memory does not depend on the size
+ * of the collection and the first rows reach the client before the last ones are read.
+ */
+@Component
+@Slf4j
+public class NdjsonExporter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectWriter writer;
+    private final int batchSize;
+
+    public NdjsonExporter(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+            ExportProperties exportProperties) {
+        this.mongoTemplate = mongoTemplate;
+        // flushed once per batch instead of once per row, rows separated by the newline alone
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.batchSize = Math.max(1, exportProperties.getBatchSize());
+    }
+
+    /**
+     * @param query  documents to export, sorted by _id when it has no sort
+     * @param type   entity to read
+     * @param mapper maps each entity to the row written
+     * @param out    response body, left open
+     * @return number of rows written, fewer than matched if the client went away
+     */
+    public <T, R> long write(Query query, Class<T> type, Function<T, R> mapper, OutputStream out) {
+        if (!query.isSorted()) {
+            query.with(Sort.by("id"));
+        }
+        query.cursorBatchSize(batchSize);
+
+        long rows = 0;
+        // closing the stream kills the server side cursor, also when the client disconnects
+        try (Stream<T> documents = mongoTemplate.stream(query, type);
+                JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<T> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, mapper.apply(iterator.next()));
+                generator.writeRaw('\n');
+                if (++rows % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            // the client closed the connection, there is nobody left to send an error to
+            log.debug("Export of {} aborted after {} rows: {}", type.getSimpleName(), rows,
+                    e.getMessage());
+        }
+        return rows;
+    }
+}
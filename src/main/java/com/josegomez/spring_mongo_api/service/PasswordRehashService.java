@@ -0,0 +1,90 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
+import com.josegomez.spring_mongo_api.domain.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rehashes stored passwords whose algorithm or cost is behind the current encoder, using the raw
+ * password of a successful login. Runs on a single background thread so upgrades never add
+ * latency to the login nor compete with it for more than one core. When the queue is full the
+ * upgrade is dropped, the next login of that user tries again.
+ */
+@Service
+@Slf4j
+public class PasswordRehashService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MongoTemplate mongoTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ThreadPoolExecutor executor;
+    private final Counter rehashed;
+
+    public PasswordRehashService(PasswordEncoder passwordEncoder, MongoTemplate mongoTemplate,
+            CacheInvalidationBus cacheInvalidationBus, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.mongoTemplate = mongoTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.rehashed = Counter.builder("auth.password.rehash").register(meterRegistry);
+    }
+
+    /**
+     * Schedules the rehash of the password if the stored hash needs an upgrade.
+     *
+     * @param username        user that just logged in
+     * @param rawPassword     password verified by the login
+     * @param encodedPassword hash currently stored
+     */
+    public void rehashIfNeeded(String username, String rawPassword, String encodedPassword) {
+        if (encodedPassword == null || !passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        executor.execute(() -> rehash(username, rawPassword, encodedPassword));
+    }
+
+    private void rehash(String username, String rawPassword, String encodedPassword) {
+        try {
+            // only replaces the hash that was verified, a password changed meanwhile is kept
+            Query query = new Query(Criteria.where("username").is(username)
+                    .and("password").is(encodedPassword));
+            long modified = mongoTemplate.updateFirst(query,
+                    new Update().set("password", passwordEncoder.encode(rawPassword)), User.class)
+                    .getModifiedCount();
+            if (modified > 0) {
+                rehashed.increment();
+                // the cached user details still hold the old hash
+                cacheInvalidationBus.publish(new UserChangedEvent(username));
+                log.debug("Password of {} rehashed", username);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not rehash the password of {}", username, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,96 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.josegomez.spring_mongo_api.domain.model.RefreshToken;
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+import com.josegomez.spring_mongo_api.repository.RefreshTokenRepository;
+import com.josegomez.spring_mongo_api.security.JwtProperties;
+import com.josegomez.spring_mongo_api.security.TokenDigest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and rotates opaque refresh tokens. A refresh token can be used once, using it again means
+ * it was stolen, so the whole family of tokens of that login is revoked.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Creates the first refresh token of a login.
+     *
+     * @param username owner of the token
+     * @return the refresh token to hand to the client
+     */
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes a refresh token and issues its replacement in the same family.
+     *
+     * @param refreshToken token sent by the client
+     * @return owner of the token and the new refresh token
+     */
+    public Rotation rotate(String refreshToken) {
+        String tokenHash = TokenDigest.sha256(refreshToken);
+        Query unused = new Query(Criteria.where("_id").is(tokenHash).and("used").is(false)
+                .and("expiresAt").gt(Instant.now()));
+        // marking as used is atomic, two concurrent rotations of a token cannot both succeed
+        RefreshToken current = mongoTemplate.findAndModify(unused, new Update().set("used", true),
+                RefreshToken.class);
+
+        if (current == null) {
+            refreshTokenRepository.findById(tokenHash).filter(RefreshToken::isUsed)
+                    .ifPresent(reused -> {
+                        long revoked = refreshTokenRepository.deleteByFamilyId(reused.getFamilyId());
+                        log.warn("Refresh token reuse detected for user {}, revoked {} tokens",
+                                reused.getUsername(), revoked);
+                    });
+            throw new ApiException(HttpStatus.UNAUTHORIZED.value(),
+                    "Refresh token invalid or expired");
+        }
+
+        String next = issue(current.getUsername(), current.getFamilyId());
+        return new Rotation(current.getUsername(), next);
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.insert(RefreshToken.builder()
+                .tokenHash(TokenDigest.sha256(refreshToken))
+                .username(username)
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plusMillis(jwtProperties.getRefreshExpiration()))
+                .build());
+        return refreshToken;
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+}
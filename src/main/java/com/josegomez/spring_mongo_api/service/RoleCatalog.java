@@ -0,0 +1,152 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
+import com.josegomez.spring_mongo_api.domain.event.CacheResetEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleCatalogChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleChangedEvent;
+import com.josegomez.spring_mongo_api.domain.model.CatalogVersion;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.repository.RoleRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the role collection. Readers get an immutable snapshot with no locking, writes
+ * build a new snapshot and swap it atomically.
+ *
+ * Every write through RoleService increases the version stored in catalogVersion and is announced
+ * on the CacheInvalidationBus, the other nodes reload when they receive it and also compare the
+ * version every role-catalog.refresh-interval in case the event was lost. Each swap publishes a
+ * RoleChangedEvent for every role modified or removed, on every node.
+ *
+ * Returned roles are shared by all readers and must not be modified.
+ */
+@Service
+@Slf4j
+public class RoleCatalog {
+
+    static final String CATALOG = "role";
+
+    private final RoleRepository roleRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    public RoleCatalog(RoleRepository roleRepository, MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher, CacheInvalidationBus cacheInvalidationBus) {
+        this.roleRepository = roleRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @PostConstruct
+    void load() {
+        swap(currentVersion());
+    }
+
+    public Optional<Role> findById(Long id) {
+        return Optional.ofNullable(snapshot.get().byId().get(id));
+    }
+
+    public Optional<Role> findByKey(String key) {
+        return Optional.ofNullable(snapshot.get().byKey().get(key));
+    }
+
+    /**
+     * @param ids role ids, usually User.roles
+     * @return the roles found, in the order of the ids
+     */
+    public List<Role> findByIds(Collection<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        Map<Long, Role> byId = snapshot.get().byId();
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * @param keys role keys
+     * @return the roles found, in the order of the keys
+     */
+    public List<Role> findByKeys(Collection<String> keys) {
+        Map<String, Role> byKey = snapshot.get().byKey();
+        return keys.stream().map(byKey::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Called after the roles were written on this node: increases the shared version, reloads
+     * the snapshot right away and tells the other nodes through the invalidation bus.
+     */
+    public synchronized void reload() {
+        CatalogVersion version = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(CATALOG)), new Update().inc("version", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), CatalogVersion.class);
+        swap(version.getVersion());
+        cacheInvalidationBus.publish(new RoleCatalogChangedEvent());
+    }
+
+    /**
+     * Reloads the snapshot when another node changed the roles since the last load. Runs when the
+     * bus reports a change and periodically in case the event was lost.
+     */
+    @EventListener(RoleCatalogChangedEvent.class)
+    @Scheduled(fixedDelayString = "${role-catalog.refresh-interval:5s}")
+    public synchronized void refreshIfStale() {
+        long version = currentVersion();
+        if (version != snapshot.get().version()) {
+            log.debug("Role catalog version {} found, reloading", version);
+            swap(version);
+        }
+    }
+
+    @EventListener(CacheResetEvent.class)
+    public synchronized void onCacheReset() {
+        swap(currentVersion());
+    }
+
+    // the version is read before the roles, a write in between is picked by the next refresh
+    private void swap(long version) {
+        List<Role> roles = roleRepository.findAll();
+        Snapshot next = new Snapshot(version,
+                Map.copyOf(roles.stream().collect(Collectors.toMap(Role::getId, Function.identity()))),
+                Map.copyOf(roles.stream().collect(Collectors.toMap(Role::getKey, Function.identity()))));
+        Snapshot previous = snapshot.getAndSet(next);
+
+        previous.byId().forEach((id, role) -> {
+            if (!role.equals(next.byId().get(id))) {
+                eventPublisher.publishEvent(new RoleChangedEvent(id));
+            }
+        });
+    }
+
+    private long currentVersion() {
+        CatalogVersion version = mongoTemplate.findById(CATALOG, CatalogVersion.class);
+        return version == null ? 0 : version.getVersion();
+    }
+
+    private record Snapshot(long version, Map<Long, Role> byId, Map<String, Role> byKey) {
+        static final Snapshot EMPTY = new Snapshot(-1, Map.of(), Map.of());
+    }
+}
@@ -1,5 +1,6 @@
 package com.josegomez.spring_mongo_api.service;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -7,15 +8,22 @@ import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
 import com.josegomez.spring_mongo_api.domain.model.Role;
 import com.josegomez.spring_mongo_api.repository.RoleRepository;
 import com.josegomez.spring_mongo_api.repository.UserRepository;
+import com.josegomez.spring_mongo_api.search.SearchCriteria;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
@@ -30,11 +38,18 @@ import lombok.RequiredArgsConstructor;
 @Validated
 public class RoleService {
 
+    private static final List<String> KEYSET_SORT_FIELDS = List.of("id", "key", "name");
+
     private final RoleRepository roleRepository;
+    private final MongoTemplate mongoTemplate;
     private final UserRepository userRepository;
 
     private final ModelMapper modelMapper;
     private final Validator validator;
+    private final SequenceIdAssigner sequenceIdAssigner;
+    private final RoleCatalog roleCatalog;
+    private final KeysetPager keysetPager;
+    private final NdjsonExporter ndjsonExporter;
 
     /**
      * The `save` function maps a `RoleRequestDTO` to a `Role`, saves it using a repository, and
@@ -46,13 +61,15 @@ public class RoleService {
     public RoleResponseDTO save(@Valid RoleRequestDTO roleRequest) {
         Role role = modelMapper.map(roleRequest, Role.class);
         Role savedRole = roleRepository.save(role);
+        roleCatalog.reload();
         return modelMapper.map(savedRole, RoleResponseDTO.class);
     }
 
     /**
      * The `saveAll` method takes a list of `RoleRequestDTO` objects, validates them, maps them to
      * `Role` entities, saves them in the database, and returns a list of corresponding
-     * `RoleResponseDTO` objects.
+     * `RoleResponseDTO` objects. The ids of the whole list are reserved at once and the roles are
+     * sent in a single insert.
      * 
      * @param roleRequests The `saveAll` method you provided takes a list of `RoleRequestDTO`
      *        objects as input, which are represented by the `roleRequests` parameter. These objects
@@ -69,7 +86,9 @@ public class RoleService {
         }
         List<Role> roles =
                 roleRequests.stream().map(dto -> modelMapper.map(dto, Role.class)).toList();
-        List<Role> savedRoles = roleRepository.saveAll(roles);
+        sequenceIdAssigner.assignIds(roles);
+        List<Role> savedRoles = roleRepository.insert(roles);
+        roleCatalog.reload();
         return savedRoles.stream().map(role -> modelMapper.map(role, RoleResponseDTO.class))
                 .toList();
     }
@@ -91,10 +110,17 @@ public class RoleService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Role not found with id: " + id));
 
+        boolean keyChanged = !role.getKey().equals(requestDTO.getKey());
         role.setName(requestDTO.getName());
         role.setKey(requestDTO.getKey());
 
         Role updated = roleRepository.save(role);
+        if (keyChanged) {
+            // tokens of the users holding the role carry the old authority
+            userRepository.incrementTokenVersionByRole(id);
+        }
+        // publishes the RoleChangedEvent once the new snapshot is visible
+        roleCatalog.reload();
         return modelMapper.map(updated, RoleResponseDTO.class);
     }
 
@@ -146,7 +172,7 @@ public class RoleService {
      * This Java function finds roles by name and returns a page of RoleResponseDTO objects.
      * 
      * @param name The `name` parameter is a `String` representing the name to search for in the
-     *        roles.
+     *        roles, ignoring case and accents, see {@link SearchCriteria}.
      * @param pageable Pageable is an interface in Spring Data that represents pagination
      *        information used in database queries. It contains details such as the page number,
      *        page size, sorting criteria, and more. This information is used to retrieve a specific
@@ -154,8 +180,66 @@ public class RoleService {
      * @return A `Page` of `RoleResponseDTO` objects is being returned.
      */
     public Page<RoleResponseDTO> findByName(String name, Pageable pageable) {
-        Page<Role> roles = roleRepository.findByNameContainingIgnoreCase(name, pageable);
-        return roles.map(role -> modelMapper.map(role, RoleResponseDTO.class));
+        Query query = new Query(SearchCriteria.matching(name)).with(pageable);
+        List<RoleResponseDTO> roles = mongoTemplate.find(query, Role.class).stream()
+                .map(role -> modelMapper.map(role, RoleResponseDTO.class)).toList();
+        return PageableExecutionUtils.getPage(roles, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Role.class));
+    }
+
+    /**
+     * Writes every role as one JSON line, read from a cursor in batches instead of loaded at once.
+     *
+     * @param out response body
+     */
+    public void export(OutputStream out) {
+        ndjsonExporter.write(new Query(), Role.class, this::toResponse, out);
+    }
+
+    /**
+     * Keyset paginated list of roles, each page continues after the last role of the previous one.
+     *
+     * @param cursor    next or prev cursor of a previous response, null for the first page
+     * @param size      roles per page, at most 100
+     * @param sortBy    id, key or name
+     * @param direction asc or desc
+     * @return the page of roles with the cursors of the adjacent pages
+     */
+    public CursorPageDTO<RoleResponseDTO> scroll(String cursor, int size, String sortBy,
+            String direction) {
+        return keysetPager.scroll(new Criteria(), Role.class, keysetSortField(sortBy),
+                Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC), cursor,
+                size, this::toResponse);
+    }
+
+    /**
+     * Keyset paginated search of roles by name, ignoring case and accents.
+     *
+     * @param name      words contained in the name
+     * @param cursor    next or prev cursor of a previous response, null for the first page
+     * @param size      roles per page, at most 100
+     * @param sortBy    id, key or name
+     * @param direction asc or desc
+     * @return the page of roles with the cursors of the adjacent pages
+     */
+    public CursorPageDTO<RoleResponseDTO> scrollByName(String name, String cursor, int size,
+            String sortBy, String direction) {
+        Criteria nameCriteria = SearchCriteria.matching(name);
+        return keysetPager.scroll(nameCriteria, Role.class, keysetSortField(sortBy),
+                Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC), cursor,
+                size, this::toResponse);
+    }
+
+    private String keysetSortField(String sortBy) {
+        if (!KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pagination can sort by: " + String.join(", ", KEYSET_SORT_FIELDS));
+        }
+        return sortBy;
+    }
+
+    private RoleResponseDTO toResponse(Role role) {
+        return new RoleResponseDTO(role.getId(), role.getKey(), role.getName());
     }
 
     /**
@@ -177,6 +261,7 @@ public class RoleService {
         }
 
         roleRepository.deleteById(id);
+        roleCatalog.reload();
     }
 
     /**
@@ -0,0 +1,111 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out ids of one collection from blocks reserved in collectionSequence (hi/lo). The hot path
+ * is a single getAndIncrement on the current block, the lock is only taken to swap blocks. Every
+ * block comes from an atomic $inc, so nodes sharing the sequence never get overlapping ranges.
+ * Ids of a block not fully used before shutdown are lost, leaving gaps.
+ */
+@Slf4j
+public class SequenceBlockAllocator {
+
+    private final String collection;
+    private final int blockSize;
+    private final int prefetchThreshold;
+    private final LongSupplier blockReserver;
+    private final Executor prefetchExecutor;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(new AtomicLong(1), 0));
+    private final AtomicReference<CompletableFuture<Block>> prefetched = new AtomicReference<>();
+
+    /**
+     * @param collection collection the ids are generated for, used for logging
+     * @param blockSize number of ids reserved per round trip
+     * @param prefetchThreshold remaining ids in the current block when the next block is
+     *        requested in background
+     * @param blockReserver reserves blockSize ids and returns the last one of the range
+     * @param prefetchExecutor executor running the background reservations
+     */
+    public SequenceBlockAllocator(String collection, int blockSize, int prefetchThreshold,
+            LongSupplier blockReserver, Executor prefetchExecutor) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be greater than zero");
+        }
+        this.collection = collection;
+        this.blockSize = blockSize;
+        this.prefetchThreshold = Math.max(0, Math.min(prefetchThreshold, blockSize - 1));
+        this.blockReserver = blockReserver;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    public long next() {
+        while (true) {
+            Block block = current.get();
+            long id = block.next().getAndIncrement();
+            if (id <= block.last()) {
+                // only one caller gets the id that reaches the threshold
+                if (block.last() - id == prefetchThreshold) {
+                    prefetch();
+                }
+                return id;
+            }
+            advance(block);
+        }
+    }
+
+    private void prefetch() {
+        CompletableFuture<Block> future = new CompletableFuture<>();
+        if (!prefetched.compareAndSet(null, future)) {
+            return;
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    future.complete(reserve());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private synchronized void advance(Block exhausted) {
+        if (current.get() != exhausted) {
+            return; // another thread already swapped the block
+        }
+        Block nextBlock = null;
+        CompletableFuture<Block> future = prefetched.getAndSet(null);
+        if (future != null) {
+            try {
+                nextBlock = future.join();
+            } catch (CompletionException e) {
+                log.warn("Prefetch of sequence block for {} failed, reserving inline", collection,
+                        e.getCause());
+            }
+        }
+        if (nextBlock == null) {
+            nextBlock = reserve();
+        }
+        current.set(nextBlock);
+    }
+
+    private Block reserve() {
+        long last = blockReserver.getAsLong();
+        log.debug("Reserved ids {}..{} for {}", last - blockSize + 1, last, collection);
+        return new Block(new AtomicLong(last - blockSize + 1), last);
+    }
+
+    private record Block(AtomicLong next, long last) {
+    }
+}
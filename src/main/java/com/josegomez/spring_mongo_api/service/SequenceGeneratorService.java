@@ -1,6 +1,11 @@
 package com.josegomez.spring_mongo_api.service;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -10,10 +15,17 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
 import com.josegomez.spring_mongo_api.domain.model.CollectionSequence;
+import com.josegomez.spring_mongo_api.monitoring.jfr.SequenceAllocationEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 
 /**
- * This class  generates sequences retrieving CollectionSequence and using $inc.
+ * This class  generates sequences retrieving CollectionSequence and using $inc. In BLOCK mode the
+ * ids are reserved in ranges and handed out from memory by a SequenceBlockAllocator per collection.
  */
 @Service
 public class SequenceGeneratorService {
@@ -21,12 +33,79 @@ public class SequenceGeneratorService {
     @Autowired
     private MongoOperations mongoOperations;
 
+    @Autowired
+    private SequenceProperties sequenceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, SequenceBlockAllocator> allocators = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> nextTimers = new ConcurrentHashMap<>();
+
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sequence-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Next id of the collection, timed as sequence.next: nanoseconds when a block is in memory,
+     * a database round trip when it is not or in SINGLE mode.
+     *
+     * @param collection name of the collection the id is generated for
+     * @return the id
+     */
     public long next(String collection) {
+        Timer timer = nextTimers.computeIfAbsent(collection, name -> Timer.builder("sequence.next")
+                .description("Time to hand out the next id of a collection")
+                .tag("collection", name).register(meterRegistry));
+        long start = System.nanoTime();
+        try {
+            if (sequenceProperties.getMode() == SequenceProperties.Mode.BLOCK) {
+                return allocators.computeIfAbsent(collection, this::newAllocator).next();
+            }
+            return reserve(collection, 1);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reserves a range of ids with a single $inc. The range is (returned - size, returned].
+     *
+     * @param collection name of the collection the ids are generated for
+     * @param size number of ids to reserve
+     * @return the last id of the reserved range
+     */
+    public long reserve(String collection, int size) {
+        SequenceAllocationEvent event = new SequenceAllocationEvent();
+        event.begin();
         CollectionSequence next = mongoOperations.findAndModify(
                 new Query(Criteria.where("collection").is(collection)),
-                new Update().inc("current", 1),
+                new Update().inc("current", size),
                 FindAndModifyOptions.options().returnNew(true).upsert(true),
                 CollectionSequence.class);
-        return Objects.requireNonNull(next).getCurrent();
+        long last = Objects.requireNonNull(next).getCurrent();
+        event.end();
+        if (event.shouldCommit()) {
+            event.collection = collection;
+            event.size = size;
+            event.lastId = last;
+            event.commit();
+        }
+        return last;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private SequenceBlockAllocator newAllocator(String collection) {
+        int blockSize = sequenceProperties.getBlockSize();
+        return new SequenceBlockAllocator(collection, blockSize,
+                sequenceProperties.getPrefetchThreshold(), () -> reserve(collection, blockSize),
+                prefetchExecutor);
     }
-}
\ No newline at end of file
+}
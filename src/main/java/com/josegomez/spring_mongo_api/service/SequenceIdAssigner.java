@@ -0,0 +1,84 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.stereotype.Service;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+import com.josegomez.spring_mongo_api.domain.common.SequenceIdentifiable;
+
+/**
+ * Assigns ids to SequenceIdentifiable entities using the IdGenerationStrategy configured for their
+ * collection. Used by SequenceIdListener for single saves and by the services for batch inserts.
+ */
+@Service
+public class SequenceIdAssigner {
+
+    private final Map<SequenceProperties.Strategy, IdGenerationStrategy> strategies =
+            new EnumMap<>(SequenceProperties.Strategy.class);
+    private final SequenceProperties sequenceProperties;
+
+    public SequenceIdAssigner(List<IdGenerationStrategy> strategies,
+            SequenceProperties sequenceProperties) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getType(), strategy));
+        this.sequenceProperties = sequenceProperties;
+    }
+
+    public void assignId(SequenceIdentifiable entity) {
+        if (hasId(entity)) {
+            return;
+        }
+        String collectionName = resolveCollectionName(entity.getClass());
+        entity.setId(resolveStrategy(collectionName).nextId(collectionName));
+    }
+
+    /**
+     * Assigns ids to every entity without one, reserving the ids of each collection at once.
+     *
+     * @param entities entities about to be inserted
+     */
+    public void assignIds(List<? extends SequenceIdentifiable> entities) {
+        Map<String, List<SequenceIdentifiable>> pending = new LinkedHashMap<>();
+        for (SequenceIdentifiable entity : entities) {
+            if (!hasId(entity)) {
+                pending.computeIfAbsent(resolveCollectionName(entity.getClass()),
+                        key -> new ArrayList<>()).add(entity);
+            }
+        }
+        pending.forEach((collectionName, withoutId) -> {
+            long[] ids = resolveStrategy(collectionName).nextIds(collectionName, withoutId.size());
+            for (int i = 0; i < ids.length; i++) {
+                withoutId.get(i).setId(ids[i]);
+            }
+        });
+    }
+
+    private boolean hasId(SequenceIdentifiable entity) {
+        Long currentId = entity.getId();
+        return currentId != null && currentId != 0L;
+    }
+
+    private IdGenerationStrategy resolveStrategy(String collectionName) {
+        SequenceProperties.Strategy type = sequenceProperties.getStrategies()
+                .getOrDefault(collectionName, sequenceProperties.getStrategy());
+        IdGenerationStrategy strategy = strategies.get(type);
+        if (strategy == null) {
+            throw new IllegalStateException("No id generation strategy registered for " + type);
+        }
+        return strategy;
+    }
+
+    private String resolveCollectionName(Class<?> clazz) {
+        Document document = clazz.getAnnotation(Document.class);
+        if (document != null && !document.collection().isEmpty()) {
+            return document.collection();
+        } else {
+            return clazz.getSimpleName().toLowerCase();
+        }
+    }
+}
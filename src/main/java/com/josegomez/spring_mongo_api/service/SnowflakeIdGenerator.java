@@ -0,0 +1,129 @@
+package com.josegomez.spring_mongo_api.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node local id generator without I/O. Ids are 64 bit values made of 41 bits of milliseconds since
+ * the configured epoch, 10 bits of node id and 12 bits of counter, so they are roughly ordered by
+ * time and unique as long as every node has its own node id.
+ *
+ * If the clock moves backwards by less than the configured tolerance the last timestamp keeps
+ * being used until the clock catches up. Bigger jumps reject the id instead of risking duplicates.
+ */
+@Component
+@Slf4j
+public class SnowflakeIdGenerator implements IdGenerationStrategy {
+
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+    private static final Pattern HOST_ORDINAL = Pattern.compile("-(\\d+)$");
+
+    private final long nodeId;
+    private final long epochMillis;
+    private final long toleranceMillis;
+    private final LongSupplier clock;
+
+    // (timestamp << COUNTER_BITS) | counter of the last generated id
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SnowflakeIdGenerator(SequenceProperties sequenceProperties) {
+        this(resolveNodeId(sequenceProperties.getSnowflake()),
+                sequenceProperties.getSnowflake().getEpoch(),
+                sequenceProperties.getSnowflake().getClockSkewTolerance(),
+                System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, Instant epoch, Duration clockSkewTolerance,
+            LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Snowflake node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epoch.toEpochMilli();
+        this.toleranceMillis = clockSkewTolerance.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public SequenceProperties.Strategy getType() {
+        return SequenceProperties.Strategy.SNOWFLAKE;
+    }
+
+    @Override
+    public long nextId(String collection) {
+        while (true) {
+            long previous = state.get();
+            long lastTimestamp = previous >>> COUNTER_BITS;
+            long now = clock.getAsLong() - epochMillis;
+
+            long timestamp;
+            long counter;
+            if (now > lastTimestamp) {
+                timestamp = now;
+                counter = 0;
+            } else {
+                if (lastTimestamp - now > toleranceMillis) {
+                    log.error("Clock moved backwards by {} ms, refusing to generate ids",
+                            lastTimestamp - now);
+                    throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                            "Clock moved backwards, id generation paused");
+                }
+                counter = (previous & MAX_COUNTER) + 1;
+                if (counter > MAX_COUNTER) {
+                    // counter exhausted for this millisecond, wait for the clock to move on
+                    Thread.onSpinWait();
+                    continue;
+                }
+                timestamp = lastTimestamp;
+            }
+            if (timestamp > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Snowflake epoch exhausted");
+            }
+            if (state.compareAndSet(previous, (timestamp << COUNTER_BITS) | counter)) {
+                return (timestamp << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+            }
+        }
+    }
+
+    private static long resolveNodeId(SequenceProperties.Snowflake snowflake) {
+        if (snowflake.getNodeIdSource() == SequenceProperties.NodeIdSource.CONFIGURED) {
+            return snowflake.getNodeId();
+        }
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Unable to resolve host name for snowflake node id", e);
+        }
+        Matcher ordinal = HOST_ORDINAL.matcher(hostName);
+        if (ordinal.find()) {
+            long nodeId = Long.parseLong(ordinal.group(1));
+            log.info("Snowflake node id {} taken from host name {}", nodeId, hostName);
+            return nodeId;
+        }
+        long nodeId = (hostName.hashCode() & 0x7fffffffL) % (MAX_NODE_ID + 1);
+        log.warn("Snowflake node id {} derived from hash of host name {}, collisions between nodes are possible",
+                nodeId, hostName);
+        return nodeId;
+    }
+}
@@ -1,11 +1,12 @@
 package com.josegomez.spring_mongo_api.service;
 
-import java.util.ArrayList;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.bson.Document;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,21 +15,29 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.springframework.data.mongodb.core.aggregation.LookupOperation;
-import org.springframework.data.mongodb.core.aggregation.MatchOperation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
+import com.josegomez.spring_mongo_api.config.MongoIndexConfig;
+import com.josegomez.spring_mongo_api.domain.common.CountMode;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
+import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserResponseDTO;
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
 import com.josegomez.spring_mongo_api.domain.model.Role;
 import com.josegomez.spring_mongo_api.domain.model.User;
-import com.josegomez.spring_mongo_api.repository.RoleRepository;
+import com.josegomez.spring_mongo_api.monitoring.jfr.MongoAggregateEvent;
 import com.josegomez.spring_mongo_api.repository.UserRepository;
+import com.josegomez.spring_mongo_api.search.SearchCriteria;
+import com.josegomez.spring_mongo_api.search.SearchNormalizer;
+import com.josegomez.spring_mongo_api.search.UserSuggestIndex;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
@@ -42,17 +51,28 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final String[] RESPONSE_FIELDS =
+            { "firstName", "lastNamePaternal", "lastNameMaternal", "roles" };
+    private static final List<String> KEYSET_SORT_FIELDS =
+            List.of("id", "firstName", "lastNamePaternal", "lastNameMaternal");
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
     private final ModelMapper modelMapper;
     private final Validator validator;
+    private final SequenceIdAssigner sequenceIdAssigner;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final KeysetPager keysetPager;
+    private final CountService countService;
+    private final NdjsonExporter ndjsonExporter;
+    private final UserSuggestIndex userSuggestIndex;
 
     /**
      * The `save` method in Java validates and saves a user with specified roles, performing role
-     * key validation and retrieving the saved user with roles using MongoDB aggregation.
+     * key validation against the role catalog and mapping the saved user with its roles.
      * 
      * @param userRequest The `save` method you provided seems to be responsible for saving a user
      *        along with their roles in a database. It performs validation on the role keys provided
@@ -61,19 +81,7 @@ public class UserService {
      * @return The `save` method returns a `UserResponseDTO` object.
      */
     public UserResponseDTO save(@Valid UserRequestDTO userRequest) {
-        List<String> roleKeys = userRequest.getRoleKeys();
-
-        List<Role> roles = roleRepository.findByKeyIn(roleKeys);
-
-        if (roles.size() != roleKeys.size()) {
-            Set<String> foundKeys = roles.stream().map(Role::getKey).collect(Collectors.toSet());
-
-            Set<String> missingKeys = new HashSet<>(roleKeys);
-            missingKeys.removeAll(foundKeys);
-
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Invalid role keys: " + String.join(", ", missingKeys));
-        }
+        List<Role> roles = findRoles(userRequest.getRoleKeys());
 
         User user = modelMapper.map(userRequest, User.class);
         List<Long> roleIds = roles.stream().map(Role::getId).toList();
@@ -81,25 +89,14 @@ public class UserService {
         user.setEnabled(false); // every user created has enabled false until the aacount activate
         
         User savedUser = userRepository.save(user);
-
-        MatchOperation match = Aggregation.match(Criteria.where("_id").is(savedUser.getId()));
-        LookupOperation lookup = Aggregation.lookup("role", "roles", "_id", "roles");
-        Aggregation aggregation = Aggregation.newAggregation(match, lookup);
-
-        AggregationResults<UserResponseDTO> results =
-                mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-
-        UserResponseDTO result = results.getUniqueMappedResult();
-        if (result == null) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to retrieve saved user with roles");
-        }
-        return result;
+        userSuggestIndex.put(savedUser);
+        return toResponse(savedUser);
     }
 
     /**
      * The function `saveAll` validates a list of user requests, maps them to User entities, assigns
      * roles to users, saves users to the database, and returns a list of UserResponseDTO objects.
+     * The ids of the whole list are reserved at once and the users are sent in a single insert.
      * 
      * @param userRequests The `saveAll` method you provided takes a list of `UserRequestDTO`
      *        objects as input. It then validates each `UserRequestDTO` object using a validator and
@@ -117,19 +114,19 @@ public class UserService {
         List<User> users = userRequests.stream().map(dto -> {
             User user = modelMapper.map(dto, User.class);
 
-            List<Role> roles = roleRepository.findByKeyIn(dto.getRoleKeys());
-            if (roles.isEmpty()) {
+            List<Long> roleIds = roleCatalog.findByKeys(dto.getRoleKeys()).stream()
+                    .map(Role::getId).collect(Collectors.toList());
+            if (roleIds.isEmpty()) {
                 throw new RuntimeException("User must have valid roles");
             }
-            List<Long> roleIds =
-                    roles.stream().map(role -> role.getId()).collect(Collectors.toList());
             user.setRoles(roleIds);
             user.setEnabled(false); // every user created has enabled false until the aacount activate
             return user;
         }).toList();
-        List<User> savedUsers = userRepository.saveAll(users);
-        return savedUsers.stream().map(user -> modelMapper.map(user, UserResponseDTO.class))
-                .toList();
+        sequenceIdAssigner.assignIds(users);
+        List<User> savedUsers = userRepository.insert(users);
+        savedUsers.forEach(userSuggestIndex::put);
+        return savedUsers.stream().map(this::toResponse).toList();
     }
 
     /**
@@ -150,40 +147,25 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User not found with id: " + id));
-        List<String> roleKeys = userRequest.getRoleKeys();
-        List<Role> roles = roleRepository.findByKeyIn(roleKeys);
-        if (roles.size() != roleKeys.size()) {
-            Set<String> foundKeys = roles.stream().map(Role::getKey).collect(Collectors.toSet());
-            Set<String> missingKeys = new HashSet<>(roleKeys);
-            missingKeys.removeAll(foundKeys);
-
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Invalid role keys: " + String.join(", ", missingKeys));
-        }
+        List<Role> roles = findRoles(userRequest.getRoleKeys());
         user.setFirstName(userRequest.getFirstName());
         user.setLastNamePaternal(userRequest.getLastNamePaternal());
         user.setLastNameMaternal(userRequest.getLastNameMaternal());
         List<Long> roleIds = roles.stream().map(Role::getId).toList();
+        if (user.getRoles() == null || !new HashSet<>(user.getRoles()).equals(new HashSet<>(roleIds))) {
+            // tokens already issued carry the old roles
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
         user.setRoles(roleIds);
         User updated = userRepository.save(user);
-
-        MatchOperation match = Aggregation.match(Criteria.where("_id").is(updated.getId()));
-        LookupOperation lookup = Aggregation.lookup("role", "roles", "_id", "roles");
-        Aggregation aggregation = Aggregation.newAggregation(match, lookup);
-        AggregationResults<UserResponseDTO> results =
-                mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-        UserResponseDTO result = results.getUniqueMappedResult();
-
-        if (result == null) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to retrieve updated user with roles");
-        }
-        return result;
+        userSuggestIndex.put(updated);
+        cacheInvalidationBus.publish(new UserChangedEvent(updated.getUsername()));
+        return toResponse(updated);
     }
 
     /**
-     * The `findAll` method retrieves either all users or a paginated list of users with roles using
-     * MongoDB aggregation.
+     * The `findAll` method retrieves either all users or a paginated list of users, with the roles
+     * taken from the role catalog.
      * 
      * @param pageable The `pageable` parameter in the `findAll` method is used for pagination in
      *        the query results. It contains information about the requested page, such as the page
@@ -192,45 +174,24 @@ public class UserService {
      * @param all The `all` parameter in the `findAll` method is a boolean flag that determines
      *        whether to fetch all users without pagination or to apply pagination and return a
      *        specific page of users.
+     * @param total how the total of the page is obtained, see {@link CountMode}
      * @return The `findAll` method returns a `Page` of `UserResponseDTO` objects. If the `all`
      *         parameter is `true`, it retrieves all users from the database without pagination. If
      *         `all` is `false`, it applies pagination based on the `Pageable` parameter and returns
-     *         a paginated result set of users.
+     *         a paginated result set of users, whose total is obtained as requested by `total`.
      */
-    public Page<UserResponseDTO> findAll(Pageable pageable, boolean all) {
+    public Page<UserResponseDTO> findAll(Pageable pageable, boolean all, CountMode total) {
         if (all) {
-            Aggregation aggregation =
-                    Aggregation.newAggregation(Aggregation.lookup("role", "roles", "_id", "roles"));
-            AggregationResults<UserResponseDTO> results =
-                    mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-            List<UserResponseDTO> allUsers = results.getMappedResults();
+            List<UserResponseDTO> allUsers = mongoTemplate.find(responseQuery(new Criteria()),
+                    User.class).stream().map(this::toResponse).toList();
             return new PageImpl<>(allUsers, Pageable.unpaged(), allUsers.size());
         } else {
-            List<AggregationOperation> operations = new ArrayList<>();
-            operations.add(Aggregation.lookup("role", "roles", "_id", "roles"));
-            Sort sort = pageable.getSort();
-            if (sort.isSorted()) {
-                for (Sort.Order order : sort) {
-                    String sortField = mapSortByField(order.getProperty());
-                    operations.add(
-                            order.isAscending() ? Aggregation.sort(Sort.Direction.ASC, sortField)
-                                    : Aggregation.sort(Sort.Direction.DESC, sortField));
-                }
-            }
-            operations.add(Aggregation.skip(pageable.getOffset()));
-            operations.add(Aggregation.limit(pageable.getPageSize()));
-
-            Aggregation aggregation = Aggregation.newAggregation(operations);
-            AggregationResults<UserResponseDTO> results =
-                    mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-            List<UserResponseDTO> usersPage = results.getMappedResults();
-            long total = mongoTemplate.count(new Query(), "user");
-            return new PageImpl<>(usersPage, pageable, total);
+            return findPage(new Criteria(), pageable, total);
         }
     }
 
     /**
-     * This Java function finds a user by their ID along with their roles using MongoDB aggregation.
+     * This Java function finds a user by their ID along with their roles from the role catalog.
      * 
      * @param userId The `userId` parameter is the unique identifier of the user for which you want
      *        to find information along with their roles.
@@ -238,12 +199,7 @@ public class UserService {
      *         object, which represents a user with their associated roles.
      */
     public Optional<UserResponseDTO> findByIdWithRoles(Long userId) {
-        MatchOperation match = Aggregation.match(Criteria.where("_id").is(userId));
-        Aggregation aggregation = Aggregation.newAggregation(match,
-                Aggregation.lookup("role", "roles", "_id", "roles"));
-        AggregationResults<UserResponseDTO> results =
-                mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-        return Optional.ofNullable(results.getUniqueMappedResult());
+        return userRepository.findById(userId).map(this::toResponse);
     }
 
     /**
@@ -251,43 +207,107 @@ public class UserService {
      * the results as a Page of UserResponseDTO objects.
      * 
      * @param name The `name` parameter in the `findByName` method is used to search for users by
-     *        their first name. The method performs a case-insensitive regex search on the
-     *        `firstName` field in the database to find users whose first name matches the provided
-     *        `name` value.
+     *        their names. Every word of it must be contained in the first or last names, ignoring
+     *        case and accents, see {@link SearchCriteria}.
      * @param pageable The `pageable` parameter in the `findByName` method is used for pagination in
      *        the query results. It contains information about the page size, current page number,
      *        sorting criteria, and more. This allows the method to retrieve a specific page of
      *        results from the database based on the provided criteria.
+     * @param total how the number of matches is obtained, see {@link CountMode}
      * @return This method returns a Page of UserResponseDTO objects that match the given name, with
-     *         pagination handled by the Pageable parameter. The method performs an aggregation
-     *         query on a MongoDB collection named "user" to find users by their first name
-     *         (case-insensitive regex match), applies sorting based on the provided pageable
-     *         sorting criteria, skips the specified number of records based on the page offset,
-     *         limits the number of results
+     *         pagination handled by the Pageable parameter. The users are matched on their
+     *         indexed normalized names.
      */
-    public Page<UserResponseDTO> findByName(String name, Pageable pageable) {
-        List<AggregationOperation> operations = new ArrayList<>();
-        Criteria nameCriteria = Criteria.where("firstName").regex(name, "i");
-        operations.add(Aggregation.match(nameCriteria));
-        operations.add(Aggregation.lookup("role", "roles", "_id", "roles"));
-        Sort sort = pageable.getSort();
-        if (sort.isSorted()) {
-            for (Sort.Order order : sort) {
-                String sortField = mapSortByField(order.getProperty());
-                operations.add(order.isAscending() ? Aggregation.sort(Sort.Direction.ASC, sortField)
-                        : Aggregation.sort(Sort.Direction.DESC, sortField));
-            }
+    public Page<UserResponseDTO> findByName(String name, Pageable pageable, CountMode total) {
+        Criteria nameCriteria = SearchCriteria.matching(name);
+        return findPage(nameCriteria, pageable, total);
+    }
+
+    /**
+     * Full name search over the Spanish text index of the first and last names, so words match
+     * their stems ("garcías" finds "García"). Users are ranked by text score, then by id.
+     *
+     * @param text     words to search, at least one of them must match
+     * @param pageable page, its sort is ignored in favour of the score
+     * @param total    how the number of matches is obtained, see {@link CountMode}
+     * @return the page of users, best matches first
+     */
+    public Page<UserResponseDTO> search(String text, Pageable pageable, CountMode total) {
+        // normalized words only, the operators of $text (phrases, negations) are not exposed
+        List<String> words = SearchNormalizer.terms(text);
+        if (words.isEmpty()) {
+            return Page.empty(pageable);
         }
-        operations.add(Aggregation.skip(pageable.getOffset()));
-        operations.add(Aggregation.limit(pageable.getPageSize()));
-
-        Aggregation aggregation = Aggregation.newAggregation(operations);
-        AggregationResults<UserResponseDTO> results =
-                mongoTemplate.aggregate(aggregation, "user", UserResponseDTO.class);
-        List<UserResponseDTO> usersPage = results.getMappedResults();
-        Criteria countCriteria = Criteria.where("firstName").regex(name, "i");
-        long total = mongoTemplate.count(new Query(countCriteria), "user");
-        return new PageImpl<>(usersPage, pageable, total);
+        TextCriteria textCriteria = TextCriteria.forLanguage(MongoIndexConfig.TEXT_LANGUAGE)
+                .matchingAny(words.toArray(String[]::new));
+
+        Query query = TextQuery.queryText(textCriteria).sortByScore().with(Sort.by("id"))
+                .skip(pageable.getOffset()).limit(pageable.getPageSize());
+        query.fields().include(RESPONSE_FIELDS);
+        return findPage(query, new Query(textCriteria), pageable, total);
+    }
+
+    /**
+     * Typeahead suggestions from the in-memory index of the user names, no database query.
+     *
+     * @param text  what was typed so far, every word must be contained in the names
+     * @param limit maximum number of suggestions
+     * @return the best matching users, best first
+     */
+    public List<UserSuggestionDTO> suggest(String text, int limit) {
+        return userSuggestIndex.suggest(text, limit);
+    }
+
+    /**
+     * Writes every user as one JSON line, read from a cursor in batches instead of loaded at once.
+     *
+     * @param out response body
+     */
+    public void export(OutputStream out) {
+        ndjsonExporter.write(responseQuery(new Criteria()), User.class, this::toResponse, out);
+    }
+
+    /**
+     * Keyset paginated list of users, each page continues after the last user of the previous one.
+     *
+     * @param cursor    next or prev cursor of a previous response, null for the first page
+     * @param size      users per page, at most 100
+     * @param sortBy    id, firstName, lastNamePaternal or lastNameMaternal
+     * @param direction asc or desc
+     * @return the page of users with the cursors of the adjacent pages
+     */
+    public CursorPageDTO<UserResponseDTO> scroll(String cursor, int size, String sortBy,
+            String direction) {
+        return keysetPager.scroll(new Criteria(), User.class, keysetSortField(sortBy),
+                Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC), cursor,
+                size, this::toResponse);
+    }
+
+    /**
+     * Keyset paginated search of users by name, ignoring case and accents.
+     *
+     * @param name      words contained in the first or last names
+     * @param cursor    next or prev cursor of a previous response, null for the first page
+     * @param size      users per page, at most 100
+     * @param sortBy    id, firstName, lastNamePaternal or lastNameMaternal
+     * @param direction asc or desc
+     * @return the page of users with the cursors of the adjacent pages
+     */
+    public CursorPageDTO<UserResponseDTO> scrollByName(String name, String cursor, int size,
+            String sortBy, String direction) {
+        Criteria nameCriteria = SearchCriteria.matching(name);
+        return keysetPager.scroll(nameCriteria, User.class, keysetSortField(sortBy),
+                Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC), cursor,
+                size, this::toResponse);
+    }
+
+    // only fields with a (field, _id) index, any other would scan the collection
+    private String keysetSortField(String sortBy) {
+        if (!KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pagination can sort by: " + String.join(", ", KEYSET_SORT_FIELDS));
+        }
+        return sortBy;
     }
 
     /**
@@ -298,10 +318,12 @@ public class UserService {
      *        user that you want to delete from the repository.
      */
     public void delete(Long id) {
-        userRepository.findById(id)
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User not found with id: " + id));
         userRepository.deleteById(id);
+        userSuggestIndex.remove(id);
+        cacheInvalidationBus.publish(new UserChangedEvent(user.getUsername()));
     }
 
     /**
@@ -313,6 +335,142 @@ public class UserService {
         return userRepository.count();
     }
 
+    /**
+     * Resolves role keys against the role catalog.
+     *
+     * @param roleKeys keys sent in the request
+     * @return the roles, in the order of the keys
+     * @throws ResponseStatusException 400 listing the keys that do not exist
+     */
+    private List<Role> findRoles(List<String> roleKeys) {
+        List<Role> roles = roleCatalog.findByKeys(roleKeys);
+        if (roles.size() != roleKeys.size()) {
+            Set<String> foundKeys = roles.stream().map(Role::getKey).collect(Collectors.toSet());
+
+            Set<String> missingKeys = new HashSet<>(roleKeys);
+            missingKeys.removeAll(foundKeys);
+
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid role keys: " + String.join(", ", missingKeys));
+        }
+        return roles;
+    }
+
+    /**
+     * Maps a user to its response, taking the roles from the role catalog instead of a $lookup.
+     *
+     * @param user stored user
+     * @return the user with its roles
+     */
+    private UserResponseDTO toResponse(User user) {
+        List<RoleResponseDTO> roles = roleCatalog.findByIds(user.getRoles()).stream()
+                .map(role -> new RoleResponseDTO(role.getId(), role.getKey(), role.getName()))
+                .toList();
+        return new UserResponseDTO(user.getId(), user.getFirstName(), user.getLastNamePaternal(),
+                user.getLastNameMaternal(), roles);
+    }
+
+    /**
+     * @param criteria filter of the list
+     * @param pageable page and sort
+     * @param total    exact: counted with the page, estimated: metadata or cached count, none:
+     *                 one extra row is read to know whether there is a next page
+     * @return the page with its total
+     */
+    private Page<UserResponseDTO> findPage(Criteria criteria, Pageable pageable, CountMode total) {
+        if (total == CountMode.EXACT) {
+            return findPageWithCount(criteria, pageable);
+        }
+
+        return findPage(pagedQuery(responseQuery(criteria), pageable), new Query(criteria),
+                pageable, total);
+    }
+
+    /**
+     * @param query    page to read, already sorted, skipped and limited
+     * @param filter   same criteria without page, counted for the total
+     * @param pageable page requested
+     * @param total    how the total is obtained
+     * @return the page with its total
+     */
+    private Page<UserResponseDTO> findPage(Query query, Query filter, Pageable pageable,
+            CountMode total) {
+        if (total == CountMode.NONE) {
+            query.limit(pageable.getPageSize() + 1);
+        }
+        List<UserResponseDTO> users = mongoTemplate.find(query, User.class).stream()
+                .map(this::toResponse).toList();
+
+        if (total == CountMode.NONE) {
+            boolean hasNext = users.size() > pageable.getPageSize();
+            List<UserResponseDTO> usersPage = hasNext ? users.subList(0, pageable.getPageSize())
+                    : users;
+            return new PageImpl<>(usersPage, pageable,
+                    pageable.getOffset() + usersPage.size() + (hasNext ? 1 : 0));
+        }
+        long count = total == CountMode.EXACT ? mongoTemplate.count(filter, "user")
+                : countService.count(filter, "user");
+        return new PageImpl<>(users, pageable, count);
+    }
+
+    /**
+     * One page of the users matching the criteria and their total in a single round trip:
+     * $match and $sort run first, on indexed fields, then a $facet takes the page, with only the
+     * fields of the response, and counts the matches from the same stream.
+     */
+    private Page<UserResponseDTO> findPageWithCount(Criteria criteria, Pageable pageable) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(mongoSort(pageable.getSort())),
+                Aggregation.facet(
+                        Aggregation.skip(pageable.getOffset()),
+                        Aggregation.limit(pageable.getPageSize()),
+                        Aggregation.project(RESPONSE_FIELDS)).as("content")
+                        .and(Aggregation.count().as("total")).as("total"));
+        MongoAggregateEvent event = new MongoAggregateEvent();
+        event.begin();
+        Document result = mongoTemplate.aggregate(aggregation, "user", Document.class)
+                .getUniqueMappedResult();
+        event.end();
+
+        List<UserResponseDTO> usersPage = result.getList("content", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(User.class, document))
+                .map(this::toResponse).toList();
+        List<Document> total = result.getList("total", Document.class);
+        long count = total.isEmpty() ? 0 : total.get(0).get("total", Number.class).longValue();
+        if (event.shouldCommit()) {
+            event.collection = "user";
+            event.operation = "findPageWithCount";
+            event.offset = pageable.getOffset();
+            event.pageSize = pageable.getPageSize();
+            event.resultCount = usersPage.size();
+            event.total = count;
+            event.commit();
+        }
+        return new PageImpl<>(usersPage, pageable, count);
+    }
+
+    // only what toResponse reads, password, email and username never leave the database
+    private Query responseQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include(RESPONSE_FIELDS);
+        return query;
+    }
+
+    private Sort mongoSort(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.by("_id");
+        }
+        return Sort.by(sort.stream()
+                .map(order -> new Sort.Order(order.getDirection(), mapSortByField(order.getProperty())))
+                .toList());
+    }
+
+    private Query pagedQuery(Query query, Pageable pageable) {
+        query.with(mongoSort(pageable.getSort()));
+        return query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+    }
+
     /**
      * The function `mapSortByField` maps input strings to corresponding field names for sorting in
      * a Java program.
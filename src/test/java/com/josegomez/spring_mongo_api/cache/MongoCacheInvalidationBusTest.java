@@ -0,0 +1,123 @@
+package com.josegomez.spring_mongo_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.josegomez.spring_mongo_api.domain.event.CacheResetEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleCatalogChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MongoCacheInvalidationBusTest {
+
+    private final List<Object> delivered = new ArrayList<>();
+    private MongoCacheInvalidationBus bus;
+    private ObjectId marker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection(MongoCacheInvalidationBus.COLLECTION)).thenReturn(collection);
+        ApplicationEventPublisher eventPublisher = delivered::add;
+        bus = new MongoCacheInvalidationBus(mongoTemplate, eventPublisher,
+                new CacheInvalidationProperties(), new SimpleMeterRegistry());
+
+        bus.publishStarted();
+        ArgumentCaptor<Document> inserted = ArgumentCaptor.forClass(Document.class);
+        verify(collection).insertOne(inserted.capture());
+        marker = inserted.getValue().getObjectId("_id");
+    }
+
+    @Test
+    void follow_deliversInInsertionOrderWhateverTheIdsOfEachPublisher() {
+        // node B's clock is behind, its id sorts below the marker and node A's event
+        ObjectId fromA = new ObjectId(new Date(System.currentTimeMillis() + 1000));
+        ObjectId fromB = new ObjectId(new Date(System.currentTimeMillis() - 60_000));
+        MongoCursor<Document> cursor = cursor(
+                event(new ObjectId(new Date(0)), "old"),
+                event(marker, null),
+                event(fromA, "ana"),
+                event(fromB, "bob"));
+
+        bus.rewind();
+        while (bus.follow(cursor) && delivered.size() < 2) {
+            // reads until both events are delivered
+        }
+
+        assertEquals(List.of(new UserChangedEvent("ana"), new UserChangedEvent("bob")), delivered);
+    }
+
+    @Test
+    void follow_resumesAfterTheLastDocumentOfTheDeadCursor() {
+        ObjectId fromB = new ObjectId(new Date(System.currentTimeMillis() - 60_000));
+        MongoCursor<Document> first = cursor(event(marker, null), event(fromB, "bob"));
+        bus.rewind();
+        while (bus.follow(first)) {
+            // until the cursor dies
+        }
+        assertEquals(List.of(new UserChangedEvent("bob")), delivered);
+
+        MongoCursor<Document> reopened = cursor(event(marker, null), event(fromB, "bob"),
+                new Document("_id", new ObjectId(new Date(0))).append("origin", "node-c")
+                        .append("publishedAt", new Date()).append("type", "roleCatalog"));
+        bus.rewind();
+        while (bus.follow(reopened)) {
+            // until the cursor dies
+        }
+
+        assertEquals(List.of(new UserChangedEvent("bob"), new RoleCatalogChangedEvent()), delivered);
+    }
+
+    @Test
+    void follow_resetsWhenTheLastDocumentWasOverwritten() {
+        ObjectId fromB = new ObjectId();
+        MongoCursor<Document> cursor = cursor(event(fromB, "bob"), event(new ObjectId(), "ana"));
+        bus.rewind();
+
+        while (bus.follow(cursor)) {
+            // until the cursor dies
+        }
+
+        // events before the end of the collection are covered by the reset
+        assertEquals(List.of(new CacheResetEvent()), delivered);
+    }
+
+    private static Document event(ObjectId id, String username) {
+        return new Document("_id", id).append("origin", "node-b").append("publishedAt", new Date())
+                .append("type", username == null ? "nodeStarted" : "user").append("key", username);
+    }
+
+    // returns the documents, then null once with a live server cursor, then dies
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Document... documents) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        List<Document> batch = new ArrayList<>(List.of(documents));
+        batch.add(null);
+        batch.add(null);
+        when(cursor.tryNext()).thenReturn(batch.get(0),
+                batch.subList(1, batch.size()).toArray(Document[]::new));
+        when(cursor.getServerCursor()).thenReturn(new ServerCursor(1, new ServerAddress()), (ServerCursor) null);
+        return cursor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.josegomez.spring_mongo_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
+
+class JsonIdConfigTest {
+
+    @Test
+    void idsStayNumbersByDefault() throws Exception {
+        assertEquals("{\"id\":9007199254740993,\"key\":\"admin\",\"name\":\"ADMIN\"}",
+                objectMapper(false).writeValueAsString(role()));
+    }
+
+    @Test
+    void idsAsStrings_writesTheIdAsAString() throws Exception {
+        assertEquals("{\"id\":\"9007199254740993\",\"key\":\"admin\",\"name\":\"ADMIN\"}",
+                objectMapper(true).writeValueAsString(role()));
+    }
+
+    private static ObjectMapper objectMapper(boolean idsAsStrings) {
+        SequenceProperties properties = new SequenceProperties();
+        properties.setIdsAsStrings(idsAsStrings);
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JsonIdConfig().idsAsStrings(properties).customize(builder);
+        return builder.build();
+    }
+
+    private static RoleResponseDTO role() {
+        RoleResponseDTO role = new RoleResponseDTO();
+        role.setId(9007199254740993L);
+        role.setKey("admin");
+        role.setName("ADMIN");
+        return role;
+    }
+}
@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josegomez.spring_mongo_api.domain.common.CountMode;
 import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserRequestDTO;
 import com.josegomez.spring_mongo_api.domain.dto.UserResponseDTO;
@@ -112,20 +114,25 @@ class UserControllerTest {
         UserResponseDTO user = new UserResponseDTO(1L, "Juan", "Perez", "Gomez", roles);
 
         Page<UserResponseDTO> page = new PageImpl<>(List.of(user));
-        when(userService.findAll(any(Pageable.class), eq(false))).thenReturn(page);
+        when(userService.findAll(any(Pageable.class), eq(false), eq(CountMode.ESTIMATED)))
+                .thenReturn(page);
 
         mockMvc.perform(get("/api/users").param("page", "0").param("size", "10")
-                .param("sortBy", "id").param("direction", "asc").param("all", "false"))
-                .andExpect(status().isOk()).andExpect(jsonPath("$.content[0].id").value(1));
+                .param("sortBy", "id").param("direction", "asc").param("all", "false")
+                .param("total", "estimated"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(header().string(CountMode.HEADER, "false"));
     }
 
     @Test
     void getAllUsers_empty() throws Exception {
         Page<UserResponseDTO> emptyPage = Page.empty();
-        when(userService.findAll(any(Pageable.class), eq(false))).thenReturn(emptyPage);
+        when(userService.findAll(any(Pageable.class), eq(false), eq(CountMode.EXACT)))
+                .thenReturn(emptyPage);
 
         mockMvc.perform(get("/api/users")).andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").isEmpty());
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(header().string(CountMode.HEADER, "true"));
     }
 
     // GET BY ID
@@ -154,7 +161,8 @@ class UserControllerTest {
         UserResponseDTO user = new UserResponseDTO(1L, "Juan", "Perez", "Gomez", roles);
 
         Page<UserResponseDTO> page = new PageImpl<>(List.of(user));
-        when(userService.findByName(eq("Juan"), any(Pageable.class))).thenReturn(page);
+        when(userService.findByName(eq("Juan"), any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(page);
 
         mockMvc.perform(get("/api/users/filter").param("name", "Juan").param("page", "0")
                 .param("size", "10").param("sortBy", "id").param("direction", "asc"))
@@ -163,7 +171,8 @@ class UserControllerTest {
 
     @Test
     void searchUsersByName_empty() throws Exception {
-        when(userService.findByName(eq("Unknown"), any(Pageable.class))).thenReturn(Page.empty());
+        when(userService.findByName(eq("Unknown"), any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(Page.empty());
 
         mockMvc.perform(get("/api/users/filter").param("name", "Unknown"))
                 .andExpect(status().isNotFound());
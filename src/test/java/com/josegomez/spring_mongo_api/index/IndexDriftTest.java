@@ -0,0 +1,111 @@
+package com.josegomez.spring_mongo_api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.josegomez.spring_mongo_api.config.MongoIndexConfig;
+import com.josegomez.spring_mongo_api.index.IndexStatus.State;
+
+class IndexDriftTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-31T00:00:00Z");
+    private static final Duration UNUSED_AFTER = Duration.ofDays(7);
+
+    @Test
+    void name_isTheOneMongoGeneratesFromTheKeys() {
+        assertEquals("firstName_1__id_1", new RequiredIndex("user", new Index()
+                .on("firstName", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)).name());
+        assertEquals("user_name_text",
+                new RequiredIndex("user", MongoIndexConfig.userNameTextIndex()).name());
+    }
+
+    @Test
+    void compare_reportsMissingConflictingAndUndeclaredIndexes() {
+        List<RequiredIndex> required = List.of(
+                new RequiredIndex("user", new Index().on("username", Sort.Direction.ASC).unique()),
+                new RequiredIndex("user", new Index().on("email", Sort.Direction.ASC)),
+                new RequiredIndex("user", new Index().on("roles", Sort.Direction.ASC)));
+        List<Document> live = List.of(
+                index("_id_", new Document("_id", 1)),
+                // the server may return directions as doubles
+                index("username_1", new Document("username", 1.0)).append("unique", true),
+                index("email_1", new Document("email", 1)).append("unique", true),
+                index("firstName_1", new Document("firstName", 1)));
+
+        List<IndexStatus> statuses = IndexDrift.compare("user", required, live, Map.of(), NOW,
+                UNUSED_AFTER);
+
+        assertEquals(List.of("username_1", "email_1", "roles_1", "_id_", "firstName_1"),
+                statuses.stream().map(IndexStatus::name).toList());
+        assertEquals(List.of(State.OK, State.CONFLICT, State.MISSING, State.OK, State.UNDECLARED),
+                statuses.stream().map(IndexStatus::state).toList());
+        assertEquals("unique true instead of false", statuses.get(1).detail());
+    }
+
+    @Test
+    void compare_textIndexMatchesOnItsWeights() {
+        List<RequiredIndex> required = List.of(
+                new RequiredIndex("user", MongoIndexConfig.userNameTextIndex()));
+        Document built = index("user_name_text", new Document("_fts", "text").append("_ftsx", 1))
+                .append("weights", new Document("firstName", 1).append("lastNamePaternal", 1)
+                        .append("lastNameMaternal", 1))
+                .append("default_language", MongoIndexConfig.TEXT_LANGUAGE);
+
+        assertEquals(State.OK, IndexDrift.compare("user", required, List.of(built), Map.of(), NOW,
+                UNUSED_AFTER).get(0).state());
+
+        built.put("weights", new Document("firstName", 1));
+        IndexStatus status = IndexDrift.compare("user", required, List.of(built), Map.of(), NOW,
+                UNUSED_AFTER).get(0);
+        assertEquals(State.CONFLICT, status.state());
+        assertTrue(status.detail().startsWith("text fields"));
+    }
+
+    @Test
+    void compare_flagsIndexesWithoutOperationsForLongEnough() {
+        List<RequiredIndex> required = List.of(
+                new RequiredIndex("user", new Index().on("email", Sort.Direction.ASC)),
+                new RequiredIndex("user", new Index().on("roles", Sort.Direction.ASC)),
+                new RequiredIndex("user", new Index().on("username", Sort.Direction.ASC).unique()));
+        List<Document> live = List.of(index("email_1", new Document("email", 1)),
+                index("roles_1", new Document("roles", 1)),
+                index("username_1", new Document("username", 1)).append("unique", true));
+        Instant longAgo = NOW.minus(Duration.ofDays(30));
+        Map<String, Document> stats = Map.of(
+                "email_1", stats(0, longAgo),
+                "roles_1", stats(0, NOW.minus(Duration.ofDays(1))),
+                "username_1", stats(0, longAgo));
+
+        List<IndexStatus> statuses = IndexDrift.compare("user", required, live, stats, NOW,
+                UNUSED_AFTER);
+
+        assertTrue(statuses.get(0).unused());
+        assertEquals(0L, statuses.get(0).ops());
+        assertEquals(longAgo, statuses.get(0).since());
+        // counters too recent to tell
+        assertFalse(statuses.get(1).unused());
+        // unique indexes enforce a constraint even if no query reads them
+        assertFalse(statuses.get(2).unused());
+    }
+
+    private static Document index(String name, Document key) {
+        return new Document("v", 2).append("key", key).append("name", name);
+    }
+
+    private static Document stats(long ops, Instant since) {
+        return new Document("accesses",
+                new Document("ops", ops).append("since", Date.from(since)));
+    }
+}
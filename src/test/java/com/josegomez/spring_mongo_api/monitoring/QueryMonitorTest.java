@@ -0,0 +1,119 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QueryMonitorTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private MongoDatabase database;
+    private SimpleMeterRegistry meterRegistry;
+    private QueryMonitor monitor;
+    private int requestId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        QueryMonitorProperties properties = new QueryMonitorProperties();
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        properties.setMaxShapes(2);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoDatabaseFactory databaseFactory = mock(MongoDatabaseFactory.class);
+        database = mock(MongoDatabase.class);
+        when(mongoTemplate.getMongoDatabaseFactory()).thenReturn(databaseFactory);
+        when(databaseFactory.getMongoDatabase("db")).thenReturn(database);
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("IXSCAN"));
+        ObjectProvider<MongoTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(mongoTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new QueryMonitor(provider, properties, meterRegistry);
+    }
+
+    @Test
+    void report_groupsCommandsByShapeAndCountsSlowOnes() {
+        run("find", "{find: 'user', filter: {username: 'a'}}", 5);
+        run("find", "{find: 'user', filter: {username: 'b'}}", 150);
+        run("count", "{count: 'role', query: {}}", 1);
+
+        List<QueryReport> report = monitor.report();
+
+        assertEquals(2, report.size());
+        QueryReport byUsername = report.get(0);
+        assertEquals("user", byUsername.collection());
+        assertEquals(2, byUsername.count());
+        assertEquals(1, byUsername.slow());
+        assertEquals(155.0, byUsername.totalMs());
+        assertEquals(150.0, byUsername.maxMs());
+        assertTrue(byUsername.p50Ms() >= 5 && byUsername.p50Ms() < 10);
+        assertEquals(1.0, meterRegistry.get("mongo.queries.slow").tag("command", "find")
+                .tag("collection", "user").counter().count());
+    }
+
+    @Test
+    void commandStarted_ignoresHousekeepingAndStopsAtMaxShapes() {
+        run("getMore", "{getMore: 1, collection: 'user'}", 500);
+        run("find", "{find: 'user', filter: {username: 'a'}}", 1);
+        run("find", "{find: 'user', filter: {email: 'a'}}", 1);
+        run("find", "{find: 'user', filter: {roles: 1}}", 1);
+
+        assertEquals(2, monitor.report().size());
+        assertEquals(1.0, meterRegistry.get("mongo.queries.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("mongo.queries.shapes").gauge().value());
+    }
+
+    @Test
+    void explain_flagsShapesWhosePlanScansTheCollection() {
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("COLLSCAN"));
+        // also explained in the background, as every shape seen for the first time
+        run("find", "{find: 'user', filter: {email: 'a'}}", 1);
+        String id = monitor.report().get(0).id();
+
+        QueryReport explained = monitor.explain(id);
+
+        assertTrue(explained.collectionScan());
+        assertTrue(meterRegistry.get("mongo.queries.collscan").tag("collection", "user")
+                .counter().count() >= 1);
+        assertNull(monitor.explain("unknown"));
+    }
+
+    private static Document plan(String stage) {
+        return new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", stage)));
+    }
+
+    private void run(String commandName, String command, long millis) {
+        int id = ++requestId;
+        monitor.commandStarted(new CommandStartedEvent(null, id, id, CONNECTION, "db",
+                commandName, BsonDocument.parse(command)));
+        monitor.commandSucceeded(new CommandSucceededEvent(null, id, id, CONNECTION, "db",
+                commandName, new BsonDocument(), millis * 1_000_000));
+    }
+}
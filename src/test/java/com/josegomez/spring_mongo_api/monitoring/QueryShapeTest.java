@@ -0,0 +1,88 @@
+package com.josegomez.spring_mongo_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class QueryShapeTest {
+
+    @Test
+    void of_sameQueryWithOtherValuesHasTheSameShape() {
+        QueryShape first = find("{find: 'user', filter: {username: 'admin'}, sort: {_id: 1},"
+                + " limit: 1, lsid: {id: 1}, $db: 'db'}");
+        QueryShape second = find("{find: 'user', filter: {username: 'jose'}, sort: {_id: 1},"
+                + " limit: 20, lsid: {id: 2}, $db: 'db'}");
+
+        assertEquals(first, second);
+        assertEquals("user", first.collection());
+        assertEquals("find user {\"filter\": {\"username\": \"?\"}, \"sort\": {\"_id\": 1}}",
+                first.shape());
+    }
+
+    @Test
+    void of_keepsOperatorsAndSortsApart() {
+        assertEquals(find("{find: 'user', filter: {roles: {$in: [1, 2, 3]}}}"),
+                find("{find: 'user', filter: {roles: {$in: [4]}}}"));
+        assertNotEquals(find("{find: 'user', filter: {roles: {$in: [1]}}}"),
+                find("{find: 'user', filter: {roles: {$nin: [1]}}}"));
+        assertNotEquals(find("{find: 'user', filter: {}, sort: {firstName: 1}}"),
+                find("{find: 'user', filter: {}, sort: {firstName: -1}}"));
+    }
+
+    @Test
+    void of_fieldsNamedLikeOptionsLoseTheirValues() {
+        QueryShape shape = find("{find: 'role', filter: {key: 'ADMIN'}}");
+
+        assertFalse(shape.shape().contains("ADMIN"));
+    }
+
+    @Test
+    void of_stripsPipelinesAndWriteStatements() {
+        QueryShape aggregate = QueryShape.of("aggregate", BsonDocument.parse(
+                "{aggregate: 'user', pipeline: [{$match: {'search.grams': {$all: ['abc']}}},"
+                        + " {$sort: {_id: 1}}, {$skip: 40}, {$limit: 20}], cursor: {}}"));
+        assertEquals("aggregate user {\"pipeline\": [{\"$match\": {\"search.grams\": {\"$all\":"
+                + " \"?\"}}}, {\"$sort\": {\"_id\": 1}}, {\"$skip\": \"?\"}, {\"$limit\": \"?\"}]}",
+                aggregate.shape());
+
+        QueryShape update = QueryShape.of("update", BsonDocument.parse(
+                "{update: 'user', updates: [{q: {roles: 7}, u: {$inc: {tokenVersion: 1}},"
+                        + " multi: true}, {q: {roles: 8}, u: {$inc: {tokenVersion: 1}}}]}"));
+        assertEquals("update user {\"updates\": {\"q\": {\"roles\": \"?\"}, \"u\": {\"$inc\":"
+                + " {\"tokenVersion\": \"?\"}}, \"multi\": true}}", update.shape());
+    }
+
+    @Test
+    void hasCollectionScan_onlyLooksAtWinningPlans() {
+        Document collectionScan = Document.parse("{queryPlanner: {winningPlan: {stage: 'LIMIT',"
+                + " inputStage: {stage: 'COLLSCAN'}}, rejectedPlans: []}}");
+        Document indexScan = Document.parse("{queryPlanner: {winningPlan: {stage: 'FETCH',"
+                + " inputStage: {stage: 'IXSCAN'}}, rejectedPlans: [{stage: 'COLLSCAN'}]}}");
+        // aggregations nest the plan of their first stage
+        Document aggregate = Document.parse("{stages: [{$cursor: {queryPlanner: {winningPlan:"
+                + " {stage: 'COLLSCAN'}}}}, {$sort: {}}]}");
+
+        assertTrue(ExplainPlans.hasCollectionScan(collectionScan));
+        assertFalse(ExplainPlans.hasCollectionScan(indexScan));
+        assertTrue(ExplainPlans.hasCollectionScan(aggregate));
+    }
+
+    @Test
+    void explainCommand_dropsDriverAndSessionFields() {
+        Document explain = ExplainPlans.explainCommand(BsonDocument.parse(
+                "{find: 'user', filter: {username: 'admin'}, lsid: {id: 1}, $db: 'db',"
+                        + " $clusterTime: {}}"));
+
+        assertEquals("{\"explain\": {\"find\": \"user\", \"filter\": {\"username\": \"admin\"}},"
+                + " \"verbosity\": \"queryPlanner\"}", explain.toJson());
+    }
+
+    private static QueryShape find(String command) {
+        return QueryShape.of("find", BsonDocument.parse(command));
+    }
+}
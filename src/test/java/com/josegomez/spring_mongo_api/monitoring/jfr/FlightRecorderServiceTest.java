@@ -0,0 +1,78 @@
+package com.josegomez.spring_mongo_api.monitoring.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderServiceTest {
+
+    private FlightRecordingProperties properties;
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FlightRecordingProperties();
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        service = new FlightRecorderService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void dump_containsTheCustomEventsRecordedSinceStart() throws Exception {
+        RecordingStatus status = service.start(Duration.ofHours(1), null);
+        assertEquals("RUNNING", status.state());
+        // cut to monitoring.jfr.max-duration
+        assertEquals(Duration.ofMinutes(1), status.duration());
+
+        JfrPasswordEncoder encoder = new JfrPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        encoder.matches("secret", "secret");
+
+        Path dump = service.dump(status.id());
+        List<RecordedEvent> hashes = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName()
+                        .equals("com.josegomez.spring_mongo_api.PasswordHash"))
+                .toList();
+        assertEquals(1, hashes.size());
+        assertEquals("matches", hashes.get(0).getString("operation"));
+        assertTrue(hashes.get(0).getBoolean("matched"));
+
+        service.close();
+        assertFalse(Files.exists(dump));
+        assertNull(service.status());
+    }
+
+    @Test
+    void start_rejectsASecondRecordingAndUnknownSettings() {
+        assertThrows(ApiException.class, () -> service.start(null, "everything"));
+
+        RecordingStatus status = service.start(null, "default");
+        ApiException running = assertThrows(ApiException.class, () -> service.start(null, null));
+        assertEquals(409, running.getStatus());
+
+        ApiException notFound = assertThrows(ApiException.class,
+                () -> service.dump(status.id() + 1));
+        assertEquals(404, notFound.getStatus());
+    }
+}
@@ -0,0 +1,83 @@
+package com.josegomez.spring_mongo_api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NgramIndexTest {
+
+    private NgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex();
+        put(1, "Gabriel", "García", "Márquez");
+        put(2, "Juan", "Manuel", "Marquez");
+        put(3, "Juan", "Rulfo", "Vizcaíno");
+        put(4, "Mario", "Vargas", "Llosa");
+    }
+
+    @Test
+    void search_infixIgnoringCaseAndAccents() {
+        // same score, the oldest first
+        assertEquals(List.of(1L, 2L), ids(index.search("ARQU", 10)));
+        assertEquals(List.of(3L), ids(index.search("izcai", 10)));
+    }
+
+    @Test
+    void search_shortWordsMatchTheStartOfAWord() {
+        assertEquals(List.of(4L), ids(index.search("ll", 10)));
+        assertEquals(List.of(), ids(index.search("lo", 10)));
+    }
+
+    @Test
+    void search_everyWordMustMatchAndPrefixMatchesRankFirst() {
+        assertEquals(List.of(2L), ids(index.search("juan marq", 10)));
+        put(5, "Andrés", "Gómez", "Arquero");
+        // "arqu" starts a word of 5, is only inside a word of 1 and 2
+        assertEquals(List.of(5L, 1L, 2L), ids(index.search("arqu", 10)));
+        assertEquals(List.of(5L), ids(index.search("arqu", 1)));
+    }
+
+    @Test
+    void search_trigramsFromDifferentWordsAreNotAMatch() {
+        // "ulf" and "lfo" are in rulfo, "fov" would need the words joined
+        assertEquals(List.of(), ids(index.search("ulfoviz", 10)));
+    }
+
+    @Test
+    void put_replacesAndRemoveDrops() {
+        put(2, "Juana", "Inés", "Cruz");
+        index.remove(3);
+
+        assertEquals(List.of(2L), ids(index.search("juan", 10)));
+        assertEquals(List.of(), ids(index.search("vizcaino", 10)));
+        assertEquals(3, index.entries());
+    }
+
+    @Test
+    void needsCompaction_onceRemovalsLeaveManyHoles() {
+        for (long id = 100; id < 3_000; id++) {
+            put(id, "Temporal", "Usuario", "Prueba");
+        }
+        for (long id = 100; id < 3_000; id++) {
+            index.remove(id);
+        }
+        assertTrue(index.needsCompaction());
+
+        assertEquals(4, index.entries());
+        assertEquals(List.of(1L, 2L), ids(index.search("marquez", 10)));
+    }
+
+    private void put(long id, String... names) {
+        index.put(id, String.join(" ", names), List.of(names));
+    }
+
+    private static List<Long> ids(List<NgramIndex.Match> matches) {
+        return matches.stream().map(NgramIndex.Match::id).toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.josegomez.spring_mongo_api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class SearchCriteriaTest {
+
+    @Test
+    void shortWord_isAnAnchoredPrefixOnTheTerms() {
+        Document filter = SearchCriteria.matching("Jú").getCriteriaObject();
+
+        Pattern prefix = (Pattern) filter.get("search.terms");
+        assertEquals("^" + Pattern.quote("ju"), prefix.pattern());
+    }
+
+    @Test
+    void longWord_requiresAllItsTrigramsAndIsConfirmedLiterally() {
+        Document filter = SearchCriteria.matching("MÁRQ").getCriteriaObject();
+
+        assertEquals(new Document("$all", List.of("mar", "arq")), filter.get("search.grams"));
+        assertEquals(Pattern.quote("marq"), ((Pattern) filter.get("search.text")).pattern());
+    }
+
+    @Test
+    void severalWords_mustAllMatch() {
+        Document filter = SearchCriteria.matching("juan ga").getCriteriaObject();
+
+        assertEquals(2, filter.getList("$and", Document.class).size());
+    }
+
+    @Test
+    void regexMetacharacters_areNotPassedThrough() {
+        assertTrue(SearchCriteria.matching("(a+)+$").getCriteriaObject()
+                .get("search.terms") instanceof Pattern prefix
+                && prefix.pattern().equals("^" + Pattern.quote("a")));
+        assertTrue(SearchCriteria.matching(".*").getCriteriaObject().isEmpty());
+    }
+}
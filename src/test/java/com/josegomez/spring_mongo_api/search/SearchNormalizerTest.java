@@ -0,0 +1,30 @@
+package com.josegomez.spring_mongo_api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.josegomez.spring_mongo_api.domain.model.SearchFields;
+
+class SearchNormalizerTest {
+
+    @Test
+    void terms_foldCaseAndAccentsAndSplitOnPunctuation() {
+        assertEquals(List.of("cortazar", "descotte"), SearchNormalizer.terms("Cortázar-Descotte"));
+        assertEquals(List.of("nunez", "o", "brien"), SearchNormalizer.terms("  NÚÑEZ  O'Brien "));
+        assertEquals(List.of(), SearchNormalizer.terms(".*(+)+$"));
+    }
+
+    @Test
+    void fields_holdTheWordsOfAllTheNamesAndTheirTrigrams() {
+        SearchFields fields = SearchNormalizer.fields(Arrays.asList("Juan", null, "Ruíz"));
+
+        assertEquals(SearchNormalizer.VERSION, fields.getVersion());
+        assertEquals("juan ruiz", fields.getText());
+        assertEquals(List.of("juan", "ruiz"), fields.getTerms());
+        assertEquals(List.of("jua", "uan", "rui", "uiz"), fields.getGrams());
+    }
+}
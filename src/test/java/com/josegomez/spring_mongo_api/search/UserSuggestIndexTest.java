@@ -0,0 +1,110 @@
+package com.josegomez.spring_mongo_api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.josegomez.spring_mongo_api.domain.dto.UserSuggestionDTO;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.exceptions.RetryableApiException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserSuggestIndexTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserSuggestIndex suggestIndex;
+    // threads that scanned the collection
+    private final List<String> scans = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        suggestIndex = new UserSuggestIndex(mongoTemplate, new SuggestProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestIndex.shutdown();
+    }
+
+    @Test
+    void rebuildInBackground_answers503UntilTheFirstBuildCompletes() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> {
+            scans.add(Thread.currentThread().getName());
+            scanning.await(5, TimeUnit.SECONDS);
+            return Stream.of(user(1L, "Gabriel", "García", "Márquez"));
+        });
+
+        suggestIndex.rebuildInBackground();
+
+        assertThrows(RetryableApiException.class, () -> suggestIndex.suggest("marq", 10));
+        scanning.countDown();
+        assertEquals(1L, awaitSuggestion("marq").get(0).getId());
+        assertEquals(List.of("suggest-index-builder"), scans);
+    }
+
+    @Test
+    void remove_queuesTheCompactionInsteadOfRebuildingInline() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> {
+            scans.add(Thread.currentThread().getName());
+            return LongStream.range(1, 3_000).mapToObj(id -> user(id, "Temporal", "Usuario", "Prueba"));
+        });
+        suggestIndex.rebuild();
+        scans.clear();
+
+        suggestIndex.put(user(5_000L, "Gabriel", "García", "Márquez"));
+        for (long id = 1; id < 3_000; id++) {
+            suggestIndex.remove(id);
+        }
+
+        // the holes are skipped until the rebuild swaps a new index in
+        assertEquals(5_000L, suggestIndex.suggest("marq", 10).get(0).getId());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scans.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(scans.isEmpty());
+        assertTrue(scans.stream().allMatch("suggest-index-builder"::equals), scans.toString());
+    }
+
+    private List<UserSuggestionDTO> awaitSuggestion(String text) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return suggestIndex.suggest(text, 10);
+            } catch (RetryableApiException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static User user(Long id, String firstName, String lastNamePaternal,
+            String lastNameMaternal) {
+        return new User(id, firstName, lastNamePaternal, lastNameMaternal, List.of(1L), "user" + id,
+                "password", true, null);
+    }
+}
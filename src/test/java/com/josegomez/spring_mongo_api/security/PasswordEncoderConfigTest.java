@@ -0,0 +1,45 @@
+package com.josegomez.spring_mongo_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncoderConfigTest {
+
+    @Test
+    void calibrate_picksHighestCostWithinTarget() {
+        // 1 ms at cost 4, doubling on each step
+        BcryptStrengthCalibrator calibrator = new BcryptStrengthCalibrator(
+                cost -> Duration.ofMillis(1L << (cost - 4)).toNanos());
+
+        assertEquals(9, calibrator.calibrate(Duration.ofMillis(40), 4, 16));
+        assertEquals(4, calibrator.calibrate(Duration.ofNanos(1), 4, 16));
+        assertEquals(6, calibrator.calibrate(Duration.ofSeconds(10), 4, 6));
+    }
+
+    @Test
+    void passwordEncoder_matchesLegacyHashesAndAsksToUpgradeThem() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.getHashing().setStrength(5);
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(properties);
+
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        assertTrue(encoder.matches("secret", weaker));
+        assertTrue(encoder.upgradeEncoding(weaker));
+
+        String current = encoder.encode("secret");
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", current));
+        assertFalse(encoder.upgradeEncoding(current));
+    }
+}
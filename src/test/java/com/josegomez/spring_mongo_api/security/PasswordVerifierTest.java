@@ -0,0 +1,86 @@
+package com.josegomez.spring_mongo_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.josegomez.spring_mongo_api.exceptions.RetryableApiException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordVerifierTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        PasswordProperties properties = new PasswordProperties();
+        properties.getVerifier().setPoolSize(1);
+        properties.getVerifier().setQueueCapacity(1);
+        properties.getVerifier().setTimeout(Duration.ofMillis(200));
+        verifier = new PasswordVerifier(passwordEncoder, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        verifier.shutdown();
+    }
+
+    @Test
+    void matches_delegatesToEncoderAndRecordsLatency() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        assertTrue(verifier.matches("secret", "hash"));
+        assertEquals(1, meterRegistry.get("auth.password.verify").timer().count());
+    }
+
+    @Test
+    void matches_rejectsWhenQueueIsFull() throws Exception {
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+        // one verification on the single thread and one in the queue
+        CompletableFuture.runAsync(() -> verifier.matches("a", "hash"));
+        CompletableFuture.runAsync(() -> verifier.matches("b", "hash"));
+        while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        RetryableApiException ex = assertThrows(RetryableApiException.class,
+                () -> verifier.matches("c", "hash"));
+        assertEquals(429, ex.getStatus());
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+    }
+
+    @Test
+    void matches_timesOutWith503() {
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+
+        RetryableApiException ex = assertThrows(RetryableApiException.class,
+                () -> verifier.matches("a", "hash"));
+        assertEquals(503, ex.getStatus());
+    }
+}
@@ -0,0 +1,70 @@
+package com.josegomez.spring_mongo_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.josegomez.spring_mongo_api.service.JwtService;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtService, new JwtProperties(), meterRegistry);
+    }
+
+    @Test
+    void verify_secondCallIsServedFromCache() {
+        VerifiedToken verified = new VerifiedToken("admin", "access", List.of("ROLE_ADMIN"), 0,
+                Instant.now().plusSeconds(60));
+        when(jwtService.verify("token")).thenReturn(verified);
+
+        assertSame(verified, cache.verify("token"));
+        assertSame(verified, cache.verify("token"));
+
+        verify(jwtService, times(1)).verify("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void verify_expiredEntryIsVerifiedAgain() {
+        VerifiedToken expired = new VerifiedToken("admin", "access", List.of(), 0,
+                Instant.now().minusSeconds(1));
+        when(jwtService.verify("token")).thenReturn(expired);
+
+        cache.verify("token");
+        cache.verify("token");
+
+        verify(jwtService, times(2)).verify("token");
+    }
+
+    @Test
+    void verify_invalidTokenIsNotCached() {
+        when(jwtService.verify("bad")).thenThrow(new MalformedJwtException("bad"));
+
+        assertThrows(MalformedJwtException.class, () -> cache.verify("bad"));
+        assertThrows(MalformedJwtException.class, () -> cache.verify("bad"));
+
+        verify(jwtService, times(2)).verify("bad");
+    }
+}
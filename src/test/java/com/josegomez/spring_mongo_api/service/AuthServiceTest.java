@@ -0,0 +1,122 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
+import com.josegomez.spring_mongo_api.domain.dto.AuthRequestDTO;
+import com.josegomez.spring_mongo_api.domain.dto.AuthResponseDTO;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.repository.RefreshTokenRepository;
+import com.josegomez.spring_mongo_api.repository.RoleRepository;
+import com.josegomez.spring_mongo_api.repository.UserRepository;
+import com.josegomez.spring_mongo_api.security.JwtProperties;
+import com.josegomez.spring_mongo_api.security.PasswordProperties;
+import com.josegomez.spring_mongo_api.security.PasswordVerifier;
+import com.josegomez.spring_mongo_api.security.SecurityConfig;
+import com.josegomez.spring_mongo_api.security.UserDetailsProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthServiceTest {
+
+    @Test
+    void login_reusesTheAuthenticatedPrincipal() {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        JwtService jwtService = mock(JwtService.class);
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(authenticationManager, jwtService,
+                userDetailsService, mock(UserRepository.class), mock(PasswordEncoder.class),
+                mock(CacheInvalidationBus.class), refreshTokenService,
+                mock(PasswordRehashService.class));
+
+        UserDetails principal = new User("admin", "hash", List.of());
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        when(jwtService.generateAccessToken(principal)).thenReturn("access");
+        when(refreshTokenService.issue("admin")).thenReturn("refresh");
+
+        AuthRequestDTO request = new AuthRequestDTO();
+        request.setUsername("admin");
+        request.setPassword("secret");
+        AuthResponseDTO response = authService.login(request);
+
+        assertEquals("access", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void login_readsTheUserOnceOnAColdCache() {
+        UserRepository userRepository = mock(UserRepository.class);
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_ADMIN", "Admin")));
+        when(userRepository.findByUsername("juan")).thenReturn(Optional.of(
+                new com.josegomez.spring_mongo_api.domain.model.User(1L, "Juan", "Perez", "Gomez",
+                        List.of(1L), "juan", passwordEncoder.encode("secret"), true,
+                        "juan@mail.com")));
+
+        RoleCatalog roleCatalog = new RoleCatalog(roleRepository, mongoTemplate,
+                mock(ApplicationEventPublisher.class), mock(CacheInvalidationBus.class));
+        roleCatalog.load();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository,
+                roleCatalog, new UserDetailsProperties(), new SimpleMeterRegistry());
+        // the provider login goes through, with the password checked on the verifier pool
+        AuthenticationManager authenticationManager = new SecurityConfig(userDetailsService, null,
+                new PasswordVerifier(passwordEncoder, new PasswordProperties(),
+                        new SimpleMeterRegistry())).authenticationManager();
+        AuthService authService = new AuthService(authenticationManager, mock(JwtService.class),
+                userDetailsService, userRepository, passwordEncoder,
+                mock(CacheInvalidationBus.class),
+                new RefreshTokenService(refreshTokenRepository, mongoTemplate, new JwtProperties()),
+                mock(PasswordRehashService.class));
+        clearInvocations(roleRepository, mongoTemplate);
+
+        AuthRequestDTO request = new AuthRequestDTO();
+        request.setUsername("juan");
+        request.setPassword("secret");
+
+        authService.login(request);
+        // the user with its roles, the roles come from the catalog snapshot
+        assertEquals(List.of("findByUsername"), calls(userRepository, roleRepository, mongoTemplate));
+        assertEquals(List.of("insert"), calls(refreshTokenRepository));
+
+        clearInvocations(userRepository, refreshTokenRepository);
+        authService.login(request);
+        // warm, only the refresh token is written
+        assertEquals(List.of(), calls(userRepository, roleRepository, mongoTemplate));
+        assertEquals(List.of("insert"), calls(refreshTokenRepository));
+    }
+
+    // repository and template calls recorded by the mocks, one per round trip
+    private static List<String> calls(Object... mocks) {
+        return Stream.of(mocks)
+                .flatMap(mock -> mockingDetails(mock).getInvocations().stream())
+                .map(invocation -> invocation.getMethod().getName())
+                .toList();
+    }
+}
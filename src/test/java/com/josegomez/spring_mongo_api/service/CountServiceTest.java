@@ -0,0 +1,69 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.josegomez.spring_mongo_api.config.CountProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CountServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private CountService countService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        countService = new CountService(mongoTemplate, new CountProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void count_sameFilterIsCountedOnceWhateverThePage() {
+        when(mongoTemplate.count(any(Query.class), eq("user"))).thenReturn(42L);
+
+        Query firstPage = new Query(Criteria.where("firstName").regex("juan", "i"))
+                .with(PageRequest.of(0, 10));
+        Query secondPage = new Query(Criteria.where("firstName").regex("juan", "i"))
+                .with(PageRequest.of(1, 10));
+
+        assertEquals(42L, countService.count(firstPage, "user"));
+        assertEquals(42L, countService.count(secondPage, "user"));
+        verify(mongoTemplate, times(1)).count(any(Query.class), eq("user"));
+    }
+
+    @Test
+    void count_differentFiltersAreCountedSeparately() {
+        when(mongoTemplate.count(any(Query.class), eq("user"))).thenReturn(1L, 2L);
+
+        assertEquals(1L, countService.count(
+                new Query(Criteria.where("firstName").regex("juan", "i")), "user"));
+        assertEquals(2L, countService.count(
+                new Query(Criteria.where("firstName").regex("ana", "i")), "user"));
+    }
+
+    @Test
+    void count_unfilteredUsesTheEstimatedCount() {
+        when(mongoTemplate.estimatedCount("user")).thenReturn(1_000L);
+
+        assertEquals(1_000L, countService.count(new Query(), "user"));
+        assertEquals(1_000L, countService.count(new Query(), "user"));
+
+        verify(mongoTemplate, times(1)).estimatedCount("user");
+        verify(mongoTemplate, never()).count(any(Query.class), eq("user"));
+    }
+}
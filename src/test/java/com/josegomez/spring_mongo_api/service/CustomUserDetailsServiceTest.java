@@ -0,0 +1,92 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.josegomez.spring_mongo_api.domain.event.RoleChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.UserChangedEvent;
+import com.josegomez.spring_mongo_api.domain.model.User;
+import com.josegomez.spring_mongo_api.repository.UserRepository;
+import com.josegomez.spring_mongo_api.security.UserDetailsProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private RoleCatalog roleCatalog;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        roleCatalog = mock(RoleCatalog.class);
+        service = new CustomUserDetailsService(userRepository, roleCatalog,
+                new UserDetailsProperties(), new SimpleMeterRegistry());
+
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin", 1L)));
+        when(userRepository.findByUsername("guest")).thenReturn(Optional.of(user("guest", 2L)));
+    }
+
+    @Test
+    void loadUserByUsername_readsMongoOnce() {
+        service.loadUserByUsername("admin");
+        service.loadUserByUsername("admin");
+
+        verify(userRepository, times(1)).findByUsername("admin");
+        verify(roleCatalog, times(1)).findByIds(List.of(1L));
+    }
+
+    @Test
+    void userChanged_dropsThatUser() {
+        service.loadUserByUsername("admin");
+        service.onUserChanged(new UserChangedEvent("admin"));
+        service.loadUserByUsername("admin");
+
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void roleChanged_dropsOnlyUsersHoldingTheRole() {
+        service.loadUserByUsername("admin");
+        service.loadUserByUsername("guest");
+        service.onRoleChanged(new RoleChangedEvent(1L));
+        service.loadUserByUsername("admin");
+        service.loadUserByUsername("guest");
+
+        verify(userRepository, times(2)).findByUsername("admin");
+        verify(userRepository, times(1)).findByUsername("guest");
+    }
+
+    @Test
+    void cacheDisabled_readsMongoEveryTimeWithoutCacheMetrics() {
+        UserDetailsProperties properties = new UserDetailsProperties();
+        properties.getCache().setEnabled(false);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new CustomUserDetailsService(userRepository, roleCatalog, properties,
+                meterRegistry);
+
+        service.loadUserByUsername("admin");
+        service.loadUserByUsername("admin");
+        service.onUserChanged(new UserChangedEvent("admin"));
+        service.onRoleChanged(new RoleChangedEvent(1L));
+
+        verify(userRepository, times(2)).findByUsername("admin");
+        assertNull(meterRegistry.find("cache.gets").tag("cache", "user.details").meter());
+    }
+
+    private static User user(String username, Long roleId) {
+        return new User(null, "Name", "Paternal", "Maternal", List.of(roleId), username, "hash",
+                true, username + "@mail.com");
+    }
+}
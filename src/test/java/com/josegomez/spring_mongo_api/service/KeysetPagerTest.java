@@ -0,0 +1,98 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.josegomez.spring_mongo_api.domain.common.PageCursor;
+import com.josegomez.spring_mongo_api.domain.dto.CursorPageDTO;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+class KeysetPagerTest {
+
+    private MongoTemplate mongoTemplate;
+    private KeysetPager pager;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        pager = new KeysetPager(mongoTemplate);
+    }
+
+    @Test
+    void firstPage_hasOnlyNextCursorPointingAfterTheLastRow() {
+        when(mongoTemplate.scroll(any(Query.class), eq(Role.class)))
+                .thenReturn(window(List.of(role(1L, "a"), role(2L, "b")), true));
+
+        CursorPageDTO<String> page = pager.scroll(new Criteria(), Role.class, "key",
+                Sort.Direction.ASC, null, 2, Role::getKey);
+
+        assertEquals(List.of("a", "b"), page.getContent());
+        assertNull(page.getPrev());
+        KeysetScrollPosition next = PageCursor.decode(page.getNext(), "key,ASC").position();
+        assertEquals(Map.of("key", "b", "_id", 2L), next.getKeys());
+        assertTrue(next.scrollsForward());
+    }
+
+    @Test
+    void backwardPage_alwaysHasNextAndPrevOnlyIfMoreRows() {
+        when(mongoTemplate.scroll(any(Query.class), eq(Role.class)))
+                .thenReturn(window(List.of(role(3L, "c")), false));
+        String cursor = new PageCursor("key,ASC",
+                ScrollPosition.backward(Map.of("key", "d", "_id", 4L))).encode();
+
+        CursorPageDTO<String> page = pager.scroll(new Criteria(), Role.class, "key",
+                Sort.Direction.ASC, cursor, 10, Role::getKey);
+
+        assertNotNull(page.getNext());
+        assertNull(page.getPrev());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).scroll(query.capture(), eq(Role.class));
+        assertTrue(query.getValue().getKeyset().scrollsBackward());
+        assertEquals(new Document("key", 1).append("id", 1), query.getValue().getSortObject());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String cursor = new PageCursor("name,ASC", ScrollPosition.forward(Map.of("name", "x")))
+                .encode();
+
+        ApiException ex = assertThrows(ApiException.class, () -> pager.scroll(new Criteria(),
+                Role.class, "key", Sort.Direction.ASC, cursor, 10, Role::getKey));
+        assertEquals(400, ex.getStatus());
+        assertEquals(400, assertThrows(ApiException.class,
+                () -> PageCursor.decode("not-a-cursor", "key,ASC")).getStatus());
+    }
+
+    private static Window<Role> window(List<Role> roles, boolean hasNext) {
+        return Window.from(roles, i -> ScrollPosition.forward(
+                Map.of("key", roles.get(i).getKey(), "_id", roles.get(i).getId())), hasNext);
+    }
+
+    private static Role role(Long id, String key) {
+        return new Role(id, key, key);
+    }
+}
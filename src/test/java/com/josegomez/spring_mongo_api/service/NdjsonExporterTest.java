@@ -0,0 +1,94 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josegomez.spring_mongo_api.config.ExportProperties;
+import com.josegomez.spring_mongo_api.domain.dto.RoleResponseDTO;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+
+class NdjsonExporterTest {
+
+    private MongoTemplate mongoTemplate;
+    private NdjsonExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        ExportProperties exportProperties = new ExportProperties();
+        exportProperties.setBatchSize(2);
+        exporter = new NdjsonExporter(mongoTemplate, new ObjectMapper(), exportProperties);
+    }
+
+    @Test
+    void write_oneJsonLinePerDocumentFromABatchedCursor() {
+        when(mongoTemplate.stream(any(Query.class), eq(Role.class)))
+                .thenReturn(Stream.of(role(1L, "admin"), role(2L, "user"), role(3L, "guest")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.write(new Query(), Role.class, NdjsonExporterTest::toResponse, out);
+
+        assertEquals(3, rows);
+        assertEquals("""
+                {"id":1,"key":"admin","name":"ADMIN"}
+                {"id":2,"key":"user","name":"USER"}
+                {"id":3,"key":"guest","name":"GUEST"}
+                """, out.toString(StandardCharsets.UTF_8));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Role.class));
+        assertEquals(2, query.getValue().getMeta().getCursorBatchSize());
+        assertTrue(query.getValue().isSorted());
+    }
+
+    @Test
+    void write_clientDisconnectStopsAndClosesTheCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(mongoTemplate.stream(any(Query.class), eq(Role.class)))
+                .thenReturn(Stream.iterate(1L, id -> id + 1).map(id -> role(id, "role" + id))
+                        .onClose(() -> closed.set(true)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        long rows = exporter.write(new Query(), Role.class, NdjsonExporterTest::toResponse,
+                disconnected);
+
+        assertEquals(2, rows);
+        assertTrue(closed.get());
+    }
+
+    private static Role role(Long id, String key) {
+        Role role = new Role();
+        role.setId(id);
+        role.setKey(key);
+        role.setName(key.toUpperCase());
+        return role;
+    }
+
+    private static RoleResponseDTO toResponse(Role role) {
+        return new RoleResponseDTO(role.getId(), role.getKey(), role.getName());
+    }
+}
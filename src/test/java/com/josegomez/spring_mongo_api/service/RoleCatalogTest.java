@@ -0,0 +1,86 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.josegomez.spring_mongo_api.cache.CacheInvalidationBus;
+import com.josegomez.spring_mongo_api.domain.event.RoleCatalogChangedEvent;
+import com.josegomez.spring_mongo_api.domain.event.RoleChangedEvent;
+import com.josegomez.spring_mongo_api.domain.model.CatalogVersion;
+import com.josegomez.spring_mongo_api.domain.model.Role;
+import com.josegomez.spring_mongo_api.repository.RoleRepository;
+
+class RoleCatalogTest {
+
+    private RoleRepository roleRepository;
+    private MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private RoleCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        catalog = new RoleCatalog(roleRepository, mongoTemplate, eventPublisher, cacheInvalidationBus);
+
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_ADMIN"), role(2L, "ROLE_USER")));
+        when(mongoTemplate.findById(RoleCatalog.CATALOG, CatalogVersion.class))
+                .thenReturn(new CatalogVersion(RoleCatalog.CATALOG, 1));
+        catalog.load();
+    }
+
+    @Test
+    void lookupsKeepTheRequestedOrderAndSkipUnknown() {
+        assertEquals(List.of(2L, 1L), catalog.findByKeys(List.of("ROLE_USER", "ROLE_X", "ROLE_ADMIN"))
+                .stream().map(Role::getId).toList());
+        assertEquals(List.of("ROLE_USER"), catalog.findByIds(List.of(2L, 9L)).stream()
+                .map(Role::getKey).toList());
+        assertTrue(catalog.findById(3L).isEmpty());
+    }
+
+    @Test
+    void refreshIfStale_reloadsOnlyWhenTheVersionChanged() {
+        catalog.refreshIfStale();
+        verify(roleRepository, times(1)).findAll();
+
+        when(mongoTemplate.findById(RoleCatalog.CATALOG, CatalogVersion.class))
+                .thenReturn(new CatalogVersion(RoleCatalog.CATALOG, 2));
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_ROOT")));
+        catalog.refreshIfStale();
+
+        assertEquals("ROLE_ROOT", catalog.findById(1L).orElseThrow().getKey());
+        verify(eventPublisher).publishEvent(new RoleChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new RoleChangedEvent(2L));
+    }
+
+    @Test
+    void reload_announcesTheChangeWithoutLocalRoleEventsWhenNothingChanged() {
+        when(mongoTemplate.findAndModify(any(), any(), any(), any(Class.class)))
+                .thenReturn(new CatalogVersion(RoleCatalog.CATALOG, 2));
+
+        catalog.reload();
+
+        verify(cacheInvalidationBus).publish(new RoleCatalogChangedEvent());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static Role role(Long id, String key) {
+        return new Role(id, key, key.substring(5));
+    }
+}
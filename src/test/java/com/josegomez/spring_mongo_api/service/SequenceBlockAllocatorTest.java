@@ -0,0 +1,58 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SequenceBlockAllocatorTest {
+
+    @Test
+    void next_returnsConsecutiveIdsFromReservedBlocks() {
+        AtomicLong sequence = new AtomicLong();
+        AtomicInteger reservations = new AtomicInteger();
+        SequenceBlockAllocator allocator = new SequenceBlockAllocator("user", 10, 0, () -> {
+            reservations.incrementAndGet();
+            return sequence.addAndGet(10);
+        }, Runnable::run);
+
+        for (long expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, allocator.next());
+        }
+        assertEquals(3, reservations.get());
+    }
+
+    @Test
+    void next_sharedSequence_neverRepeatsIds() throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService prefetch = Executors.newSingleThreadExecutor();
+        SequenceBlockAllocator nodeA = new SequenceBlockAllocator("user", 7, 3,
+                () -> sequence.addAndGet(7), prefetch);
+        SequenceBlockAllocator nodeB = new SequenceBlockAllocator("user", 7, 3,
+                () -> sequence.addAndGet(7), prefetch);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            SequenceBlockAllocator allocator = i % 2 == 0 ? nodeA : nodeB;
+            workers.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    assertTrue(ids.add(allocator.next()));
+                }
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(10, TimeUnit.SECONDS));
+        prefetch.shutdown();
+
+        assertEquals(8000, ids.size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.josegomez.spring_mongo_api.config.SequenceProperties;
+import com.josegomez.spring_mongo_api.domain.model.User;
+
+class SequenceIdAssignerTest {
+
+    @Test
+    void assignIds_reservesIdsOfTheListInOneCall() {
+        SequenceGeneratorService sequenceGenerator = mock(SequenceGeneratorService.class);
+        when(sequenceGenerator.reserve("user", 2)).thenReturn(42L);
+        SequenceIdAssigner assigner = new SequenceIdAssigner(
+                List.of(new MongoSequenceIdStrategy(sequenceGenerator)), new SequenceProperties());
+
+        User existing = User.builder().id(7L).build();
+        User first = new User();
+        User second = new User();
+        assigner.assignIds(List.of(first, existing, second));
+
+        assertEquals(41L, first.getId());
+        assertEquals(7L, existing.getId());
+        assertEquals(42L, second.getId());
+        verify(sequenceGenerator).reserve("user", 2);
+        verifyNoMoreInteractions(sequenceGenerator);
+    }
+}
@@ -0,0 +1,63 @@
+package com.josegomez.spring_mongo_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.josegomez.spring_mongo_api.exceptions.ApiException;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void nextId_encodesTimestampNodeAndCounter() {
+        long now = EPOCH.toEpochMilli() + 1000;
+        SnowflakeIdGenerator generator =
+                new SnowflakeIdGenerator(5, EPOCH, Duration.ofMillis(10), () -> now);
+
+        long first = generator.nextId("user");
+        long second = generator.nextId("user");
+
+        assertEquals(1000, first >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.COUNTER_BITS));
+        assertEquals(5, (first >>> SnowflakeIdGenerator.COUNTER_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void nextId_isIncreasingWhenClockMovesBackWithinTolerance() {
+        AtomicLong clock = new AtomicLong(EPOCH.toEpochMilli() + 1000);
+        SnowflakeIdGenerator generator =
+                new SnowflakeIdGenerator(1, EPOCH, Duration.ofMillis(10), clock::get);
+
+        long before = generator.nextId("user");
+        clock.addAndGet(-5);
+        long after = generator.nextId("user");
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_failsWhenClockMovesBackBeyondTolerance() {
+        AtomicLong clock = new AtomicLong(EPOCH.toEpochMilli() + 1000);
+        SnowflakeIdGenerator generator =
+                new SnowflakeIdGenerator(1, EPOCH, Duration.ofMillis(10), clock::get);
+
+        generator.nextId("user");
+        clock.addAndGet(-50);
+
+        assertThrows(ApiException.class, () -> generator.nextId("user"));
+    }
+
+    @Test
+    void constructor_rejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(1024, EPOCH, Duration.ZERO, System::currentTimeMillis));
+    }
+}